@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Throughput and p99 latency of the read mix on platform threads vs virtual threads.
+# Needs Java 21+, k6 and the docker-compose PostgreSQL running; run from backend/:
+#   ./benchmarks/load/compare-threading.sh
+# VUS, DURATION, USERNAME and PASSWORD are passed through to read-mix.js.
+set -euo pipefail
+
+PORT=${PORT:-8080}
+RESULTS=${RESULTS:-target/load}
+JAR=$(ls target/crud-app-*.jar 2>/dev/null | grep -v plain | head -1 || true)
+
+if [ -z "$JAR" ]; then
+    ./mvnw -q -DskipTests package
+    JAR=$(ls target/crud-app-*.jar | grep -v plain | head -1)
+fi
+mkdir -p "$RESULTS"
+
+run() {
+    local mode=$1 profiles=$2
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "$RESULTS/$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" RETURN
+
+    until curl -s -o /dev/null "http://localhost:$PORT/api/v1/auth/login"; do
+        kill -0 "$pid" 2>/dev/null || { echo "$mode: application failed to start, see $RESULTS/$mode.log"; exit 1; }
+        sleep 1
+    done
+
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" \
+        --summary-export "$RESULTS/$mode.json" benchmarks/load/read-mix.js > /dev/null
+}
+
+run platform prod
+run virtual prod,virtual-threads
+
+printf '%-10s %12s %10s %10s %10s\n' mode "req/s" "p50 ms" "p99 ms" "failed"
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" '[$mode,
+            (.metrics.http_reqs.rate | floor),
+            (.metrics.http_req_duration.med * 100 | floor / 100),
+            (.metrics.http_req_duration["p(99)"] * 100 | floor / 100),
+            (.metrics.http_req_failed.value * 100 | tostring + "%")] | @tsv' "$RESULTS/$mode.json" |
+        awk -F'\t' '{ printf "%-10s %12s %10s %10s %10s\n", $1, $2, $3, $4, $5 }'
+done
@@ -0,0 +1,49 @@
+// Read-heavy load for comparing platform and virtual threads (see compare-threading.sh).
+// k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=60s benchmarks/load/read-mix.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        // bursty arrivals: ramp well past the default 200 Tomcat threads, hold, then drop
+        burst: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '10s', target: Number(__ENV.VUS || 400) },
+                { duration: __ENV.DURATION || '60s', target: Number(__ENV.VUS || 400) },
+                { duration: '5s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/api/v1/auth/login`, JSON.stringify({
+        username: __ENV.USERNAME || 'admin',
+        password: __ENV.PASSWORD || '123',
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(response, { 'logged in': r => r.status === 200 });
+    return { token: response.json('token') };
+}
+
+const paths = [
+    '/api/v1/products?page=0&size=20',
+    '/api/v1/products/scroll?size=20&sort=price',
+    '/api/v1/products/search?name=pro&maxPrice=1500',
+    '/api/v1/products/search/ranked?name=phone',
+    '/api/v1/categories',
+    '/api/v1/products/1',
+];
+
+export default function (data) {
+    const path = paths[Math.floor(Math.random() * paths.length)];
+    const response = http.get(`${BASE_URL}${path}`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+        tags: { name: path.split('?')[0] },
+    });
+    check(response, { 'status 200': r => r.status === 200 });
+}
@@ -0,0 +1,89 @@
+-- =====================================================
+-- Product name search benchmark: ILIKE scan vs pg_trgm
+-- Run against the docker-compose database:
+--   docker exec -i postgres-db psql -U crud_user -d crud_app_db < backend/benchmarks/product-name-search.sql
+-- Works in a scratch schema (search_bench) seeded with 1M products;
+-- the application tables are not touched.
+-- =====================================================
+
+\timing on
+\set ON_ERROR_STOP on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+SET search_path = search_bench, public;
+
+CREATE TABLE categories (
+    id   BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE products (
+    id          BIGSERIAL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    price       NUMERIC(6, 2) NOT NULL,
+    category_id BIGINT NOT NULL REFERENCES categories (id)
+);
+
+INSERT INTO categories (name)
+SELECT 'Category ' || g FROM generate_series(1, 50) g;
+
+-- 1M products, names built from a small vocabulary so searches hit realistic match counts
+INSERT INTO products (name, price, category_id)
+SELECT (ARRAY['Wireless', 'Smart', 'Portable', 'Classic', 'Premium', 'Compact', 'Ultra', 'Eco'])[1 + g % 8] || ' ' ||
+       (ARRAY['Laptop', 'Headphones', 'Jacket', 'Novel', 'Lamp', 'Camera', 'Backpack', 'Blender', 'Watch', 'Speaker'])[1 + (g / 8) % 10] || ' ' ||
+       md5(g::text)::varchar(8),
+       round((random() * 9999)::numeric, 2),
+       1 + g % 50
+FROM generate_series(1, 1000000) g;
+
+CREATE INDEX idx_products_name_id ON products (name, id);
+CREATE INDEX idx_products_price_id ON products (price, id);
+ANALYZE products;
+
+-- ---------------------------------------------------
+-- 1. Current query (ProductRepository.searchProducts): no usable index, sequential scan
+-- ---------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.*, c.* FROM products p JOIN categories c ON c.id = p.category_id
+WHERE p.name ILIKE '%headphone%' AND p.price >= 100 AND p.price <= 1500
+ORDER BY p.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM products p
+WHERE p.name ILIKE '%headphone%' AND p.price >= 100 AND p.price <= 1500;
+
+-- ---------------------------------------------------
+-- 2. Ranked query (ProductRepository.searchRankedTrigram) with the GIN trigram index
+-- ---------------------------------------------------
+CREATE INDEX idx_products_name_trgm ON products USING gin (name gin_trgm_ops);
+ANALYZE products;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id, p.name, p.price, c.id AS category_id, c.name AS category_name
+FROM products p JOIN categories c ON c.id = p.category_id
+WHERE (p.name ILIKE '%headphone%' OR p.name % 'headphone') AND p.price >= 100 AND p.price <= 1500
+ORDER BY similarity(p.name, 'headphone') DESC, p.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM products p
+WHERE (p.name ILIKE '%headphone%' OR p.name % 'headphone') AND p.price >= 100 AND p.price <= 1500;
+
+-- A selective term (one product) shows the index at its best
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id, p.name FROM products p
+WHERE p.name ILIKE '%' || (SELECT md5('424242')::varchar(8)) || '%'
+ORDER BY p.id
+LIMIT 20;
+
+-- 3. The current ILIKE query also benefits from the trigram index once it exists
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM products p
+WHERE p.name ILIKE '%headphone%' AND p.price >= 100 AND p.price <= 1500;
+
+RESET search_path;
+DROP SCHEMA search_bench CASCADE;
@@ -0,0 +1,81 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.dto.AuthResponse;
+import com.example.crud_app.dto.LoginDTO;
+import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
+import com.example.crud_app.repository.UserRepository;
+import com.example.crud_app.security.PasswordHasher;
+import com.example.crud_app.service.AuthServiceImpl;
+import com.example.crud_app.util.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Login cost, dominated by the BCrypt match; the user lookup is stubbed so only hashing and token issue remain.
+ * loginCache=true measures a repeat login answered from the verification cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticateBenchmark {
+
+    private static final String PASSWORD = "123";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    @Param({"false", "true"})
+    public boolean loginCache;
+
+    private AuthServiceImpl authService;
+    private PasswordHasher passwordHasher;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+    private LoginDTO login;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtils jwtUtils = new JwtUtils(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "mySecretKeyForJwtTokensMustBeAtLeast32Characters");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        hash = passwordEncoder.encode(PASSWORD);
+        User user = User.builder().id(1L).username("admin").password(hash).role(Role.ADMIN).build();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+
+        passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, strength, 0, 100,
+                loginCache, Duration.ofMinutes(1), 100);
+        authService = new AuthServiceImpl(userRepository, passwordHasher, jwtUtils);
+        login = new LoginDTO("admin", PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcryptMatch() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public AuthResponse authenticate() {
+        return authService.authenticate(login);
+    }
+}
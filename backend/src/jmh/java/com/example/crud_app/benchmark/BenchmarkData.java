@@ -0,0 +1,59 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Deterministic catalog fixtures shared by the benchmarks
+ */
+final class BenchmarkData {
+
+    static final String[] ADJECTIVES = {"Wireless", "Smart", "Portable", "Classic", "Premium", "Compact", "Ultra", "Eco"};
+    static final String[] NOUNS = {"Laptop", "Headphones", "Jacket", "Novel", "Lamp", "Camera", "Backpack", "Phone",
+            "Watch", "Speaker"};
+
+    private BenchmarkData() {
+    }
+
+    static String productName(int i) {
+        return ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / ADJECTIVES.length) % NOUNS.length] + " " + i;
+    }
+
+    static BigDecimal price(int i) {
+        return BigDecimal.valueOf((i * 7919L) % 999_999, 2);
+    }
+
+    static Category category(long id) {
+        return Category.builder()
+                .id(id)
+                .name("Category " + id)
+                .description("Benchmark category " + id)
+                .build();
+    }
+
+    static List<Product> products(int count, Category category) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .name(productName(i))
+                    .price(price(i))
+                    .category(category)
+                    .build());
+        }
+        return products;
+    }
+
+    static List<ProductDTO> productDTOs(int count) {
+        List<ProductDTO> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new ProductDTO((long) i + 1, productName(i), price(i), (long) i % 50 + 1, "Category " + (i % 50 + 1)));
+        }
+        return products;
+    }
+}
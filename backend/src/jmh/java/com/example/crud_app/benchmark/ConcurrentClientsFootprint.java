@@ -0,0 +1,155 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.util.JwtUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Server footprint under many concurrent clients: not a JMH benchmark but a load driver run against a live application,
+ * the servlet one (port 8080) or the reactive read module (port 8081), on the same PostgreSQL database.
+ * Each of N clients keeps one request in flight on its own HTTP/1.1 connection for the whole run; every second the
+ * server's /actuator/prometheus is sampled for live threads, open file descriptors (mostly sockets) and JDBC or R2DBC
+ * pool connections in use and waiting, and the peaks are printed with client-side throughput and latency.
+ *
+ *   SPRING_PROFILES_ACTIVE=prod mvn spring-boot:run -Dspring-boot.run.arguments=--server.tomcat.max-connections=20000
+ *   SPRING_R2DBC_URL=r2dbc:postgresql://localhost:5432/crud_app_db mvn -Preactive spring-boot:run \
+ *       -Dspring-boot.run.main-class=com.example.crud_reactive.ReactiveCatalogApplication
+ *   mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.crud_app.benchmark.ConcurrentClientsFootprint \
+ *       -Dexec.args="http://localhost:8081 10000 60 /api/v1/products?page=0&size=20"
+ *
+ * Arguments: base URL, clients (10000), seconds (60), path. Tokens are signed with JWT_SECRET like the applications'.
+ * 10k connections need ulimit -n above 20000 on both sides; Tomcat accepts 8192 connections unless raised as above.
+ */
+public final class ConcurrentClientsFootprint {
+
+    private static final List<String> SERVER_METRICS = List.of(
+            "jvm_threads_live_threads",
+            "process_files_open_files",
+            "hikaricp_connections_active",
+            "hikaricp_connections_pending",
+            "r2dbc_pool_acquired_connections",
+            "r2dbc_pool_pending_connections");
+
+    private ConcurrentClientsFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+        URI target = base.resolve(args.length > 3 ? args[3] : "/api/v1/products?page=0&size=20");
+        URI metrics = base.resolve("/actuator/prometheus");
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Authorization", "Bearer " + token())
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer latency = Timer.builder("latency").publishPercentiles(0.5, 0.99).register(registry);
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        for (int i = 0; i < clients; i++) {
+            send(httpClient, request, latency, errors, deadline);
+        }
+
+        Map<String, Double> peaks = new LinkedHashMap<>();
+        int missedScrapes = 0;
+        HttpRequest scrape = HttpRequest.newBuilder(metrics).timeout(Duration.ofSeconds(30)).GET().build();
+        while (System.nanoTime() < deadline) {
+            TimeUnit.SECONDS.sleep(1);
+            try {
+                String body = httpClient.send(scrape, HttpResponse.BodyHandlers.ofString()).body();
+                for (String metric : SERVER_METRICS) {
+                    double value = sum(body, metric);
+                    if (!Double.isNaN(value)) {
+                        peaks.merge(metric, value, Math::max);
+                    }
+                }
+            } catch (Exception e) {
+                // scrapes queue behind the load on a saturated server; the next one may get through
+                missedScrapes++;
+            }
+        }
+        // requests still in flight complete or time out before the totals are read
+        TimeUnit.SECONDS.sleep(5);
+
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        System.out.printf("%s, %d clients, %ds%n", target, clients, duration.toSeconds());
+        System.out.printf("  requests/s        %.0f%n", snapshot.count() / (double) duration.toSeconds());
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            System.out.printf("  p%-2.0f latency ms   %.1f%n", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("  errors            %d%n", errors.sum());
+        System.out.printf("  missed scrapes    %d%n", missedScrapes);
+        peaks.forEach((metric, value) -> System.out.printf("  peak %-34s %.0f%n", metric, value));
+        executor.shutdownNow();
+    }
+
+    /*
+     * One client: the next request leaves when the previous response has been read, until the deadline
+     */
+    private static void send(HttpClient httpClient, HttpRequest request, Timer latency, LongAdder errors, long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return;
+        }
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        errors.increment();
+                    } else {
+                        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                    send(httpClient, request, latency, errors, deadline);
+                });
+    }
+
+    /*
+     * Sum of a Prometheus metric over all its series, NaN when the server does not export it
+     */
+    private static double sum(String exposition, String metric) {
+        double total = Double.NaN;
+        for (String line : exposition.split("\n")) {
+            if (line.startsWith(metric + "{") || line.startsWith(metric + " ")) {
+                double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                total = Double.isNaN(total) ? value : total + value;
+            }
+        }
+        return total;
+    }
+
+    private static String token() {
+        JwtUtils jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        String secret = System.getenv().getOrDefault("JWT_SECRET", "mySecretKeyForJwtTokensMustBeAtLeast32Characters");
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils.generateToken("admin", "ADMIN");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.security.JwtTokenCache;
+import com.example.crud_app.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Token issue on login and verification on every authenticated request, with and without the token cache
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private JwtTokenCache jwtTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "mySecretKeyForJwtTokensMustBeAtLeast32Characters");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        jwtTokenCache = new JwtTokenCache(jwtUtils, new SimpleMeterRegistry(), true, 10_000);
+        token = jwtUtils.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> verifyCached() {
+        return jwtTokenCache.verify(token);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.dto.CategoryWithProductsDTO;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.mapper.CategoryMapper;
+import com.example.crud_app.mapper.CategoryMapperImpl;
+import com.example.crud_app.mapper.ProductMapper;
+import com.example.crud_app.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * MapStruct mappers on the read paths: one product, a page of products, and a category with all its products
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ProductMapper productMapper;
+    private CategoryMapper categoryMapper;
+    private Product product;
+    private List<Product> products;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        categoryMapper = new CategoryMapperImpl();
+        ReflectionTestUtils.setField(categoryMapper, "productMapper", productMapper);
+
+        category = BenchmarkData.category(1);
+        products = BenchmarkData.products(size, category);
+        category.setProducts(products);
+        product = products.get(0);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productToDTOList() {
+        return productMapper.toDTOList(products);
+    }
+
+    @Benchmark
+    public CategoryWithProductsDTO categoryToDTOWithProducts() {
+        return categoryMapper.toDTOWithProducts(category);
+    }
+}
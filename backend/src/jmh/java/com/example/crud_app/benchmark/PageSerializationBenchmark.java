@@ -0,0 +1,42 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Response body of the paged product endpoints: Jackson serialization of a Page<ProductDTO>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductDTO> page;
+
+    @Setup
+    public void setUp() {
+        // same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new PageImpl<>(BenchmarkData.productDTOs(size), PageRequest.of(0, size), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
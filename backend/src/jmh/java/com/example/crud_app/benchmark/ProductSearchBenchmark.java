@@ -0,0 +1,103 @@
+package com.example.crud_app.benchmark;
+
+import com.example.crud_app.CrudAppApplication;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductSearchResultDTO;
+import com.example.crud_app.service.ProductSearchIndex;
+import com.example.crud_app.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * ProductServiceImpl.searchProduct against an embedded H2 catalog, answered by the database
+ * or by the in-memory ProductSearchIndex
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (name, price, category_id) VALUES (?, ?, ?)";
+    private static final int BATCH_SIZE = 5_000;
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"database", "index"})
+    private String source;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    @Setup
+    public void setUp() {
+        // passed as arguments: builder properties are only defaults and application.yml would win
+        context = new SpringApplicationBuilder(CrudAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                        "--logging.level.root=WARN",
+                        "--app.search.index.enabled=" + "index".equals(source));
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(ProductSearchIndex.class).rebuild();
+        productService = context.getBean(ProductService.class);
+    }
+
+    // data.sql has already created categories 1 to 5
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < products; i++) {
+            batch.add(new Object[]{BenchmarkData.productName(i), BenchmarkData.price(i), (long) i % 5 + 1});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> searchByName() {
+        return productService.searchProduct("phone", null, null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> searchByNameAndPriceSortedByPrice() {
+        return productService.searchProduct("wireless", new BigDecimal("10"), new BigDecimal("500"),
+                PageRequest.of(0, 20, Sort.by("price")));
+    }
+
+    // compare with searchByName for the cost of the facets
+    @Benchmark
+    public ProductSearchResultDTO searchByNameWithFacets() {
+        return productService.searchProductWithFacets("phone", null, null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> searchSelectiveName() {
+        return productService.searchProduct("laptop 4242", null, null, PageRequest.of(0, 20));
+    }
+}
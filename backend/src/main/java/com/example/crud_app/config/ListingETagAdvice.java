@@ -0,0 +1,38 @@
+package com.example.crud_app.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/*
+ * Attaches the listing ETag computed by ListingETagInterceptor just before the body is written, and only to 2xx
+ * responses: by then the status is final, while the headers are not yet committed
+ */
+@ControllerAdvice
+public class ListingETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(ListingETagInterceptor.ETAG) instanceof String etag
+                && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()) {
+            response.getHeaders().setETag(etag);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.crud_app.config;
+
+import com.example.crud_app.service.CatalogChangeCounter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.Objects;
+
+/*
+ * Weak ETags for listing endpoints, derived from the change counters of the tables the listing reads
+ * and the request's query string. A matching If-None-Match is answered 304 before the handler runs,
+ * so no query, mapping or serialization happens for an unchanged listing. Otherwise the ETag is only attached by
+ * ListingETagAdvice once the body is written with a 2xx status, so error responses never carry a cacheable tag.
+ * Streamed listings (StreamingResponseBody) bypass body advice and go without an ETag.
+ * With replica routing, the counters move as soon as a write commits on the primary, while a replica may still
+ * serve the previous rows: for primaryWindow after any catalog write, listings are read from the primary so a new
+ * ETag is never handed out with a stale body (and then answered 304 until the next write).
+ */
+public class ListingETagInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ETAG = ListingETagInterceptor.class.getName() + ".etag";
+    private static final String PINNED = ListingETagInterceptor.class.getName() + ".pinned";
+
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final Duration primaryWindow;
+    private final CatalogChangeCounter.Table[] tables;
+
+    public ListingETagInterceptor(CatalogChangeCounter catalogChangeCounter, Duration primaryWindow,
+                                  CatalogChangeCounter.Table... tables) {
+        this.catalogChangeCounter = catalogChangeCounter;
+        this.primaryWindow = primaryWindow;
+        this.tables = tables;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // async dispatches of streamed responses were already checked on the original request
+        if (!HttpMethod.GET.matches(request.getMethod()) || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!streamed(handler)) {
+            String etag = "W/\"" + catalogChangeCounter.tag(tables) + "-"
+                    + Integer.toHexString(Objects.hashCode(request.getQueryString())) + "\"";
+            if (notModified(request, ETag.create(etag))) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, etag);
+                return false;
+            }
+            request.setAttribute(ETAG, etag);
+        }
+        // checked after reading the tag: a write since then only makes the tag older than the body
+        if (catalogChangeCounter.changedWithin(primaryWindow)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+            request.setAttribute(PINNED, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        unpin(request);
+    }
+
+    /*
+     * Streamed responses continue on another thread; release the request thread here
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        unpin(request);
+    }
+
+    /*
+     * Weak comparison against every If-None-Match value, as for a GET
+     */
+    private static boolean notModified(HttpServletRequest request, ETag etag) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (values.hasMoreElements()) {
+            for (ETag candidate : ETag.parse(values.nextElement())) {
+                if (candidate.isWildcard() || candidate.compare(etag, false)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean streamed(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return false;
+        }
+        ResolvableType type = ResolvableType.forMethodReturnType(method.getMethod());
+        return StreamingResponseBody.class.isAssignableFrom(type.toClass())
+                || StreamingResponseBody.class.isAssignableFrom(type.getGeneric(0).toClass());
+    }
+
+    private static void unpin(HttpServletRequest request) {
+        if (request.getAttribute(PINNED) != null) {
+            request.removeAttribute(PINNED);
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.crud_app.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String HANDLER_TAG = "handler";
+
+    /*
+     * Tag http.server.requests with the controller method that served it, e.g. ProductController#searchProducts,
+     * so every endpoint gets its own latency histogram
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return KeyValue.of(HANDLER_TAG, method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return KeyValue.of(HANDLER_TAG, "none");
+    }
+}
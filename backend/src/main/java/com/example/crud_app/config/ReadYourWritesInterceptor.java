@@ -0,0 +1,68 @@
+package com.example.crud_app.config;
+
+import com.example.crud_app.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/*
+ * Read-your-writes for the replica routing: a caller whose mutation succeeded reads from the primary for
+ * app.datasource.read-your-writes.window, long enough to cover the replication lag, and mutations read from
+ * the primary throughout. Callers are the authenticated users; like CategoryCache, the recent writers are
+ * remembered per instance.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(Duration window, long maxSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String caller = caller();
+        if (isMutation(request) || (caller != null && recentWriters.getIfPresent(caller) != null)) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            String caller = caller();
+            if (caller != null && isMutation(request) && ex == null && response.getStatus() < 400) {
+                recentWriters.put(caller, Boolean.TRUE);
+            }
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    /*
+     * Streamed responses continue on another thread; release the request thread here
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private static boolean isMutation(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    private static String caller() {
+        return AuthenticatedUser.current().map(AuthenticatedUser::username).orElse(null);
+    }
+}
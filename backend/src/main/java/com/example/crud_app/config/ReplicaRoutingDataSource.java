@@ -0,0 +1,61 @@
+package com.example.crud_app.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * Sends the connections of read-only transactions to the replica pool and everything else to the primary.
+ * The route is read when a connection is taken, so this must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction manager asks for its connection before the transaction's read-only flag is published.
+ * Threads pinned to the primary (read-your-writes, see ReadYourWritesInterceptor) read from the primary too.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /*
+     * Route every connection of the current thread to the primary until unpin()
+     */
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /*
+     * Run an action with connections it takes routed to the primary, leaving an outer pin in place.
+     * A transaction that already holds its connection keeps using it.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean pinned = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (pinned == null) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PINNED_TO_PRIMARY.get() == null
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crud_app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * Background jobs on the Spring task scheduler, such as the catalog outbox relay
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
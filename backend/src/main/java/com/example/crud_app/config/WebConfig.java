@@ -0,0 +1,58 @@
+package com.example.crud_app.config;
+
+import com.example.crud_app.service.CatalogChangeCounter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+import static com.example.crud_app.service.CatalogChangeCounter.Table.CATEGORIES;
+import static com.example.crud_app.service.CatalogChangeCounter.Table.PRODUCTS;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+    private final Duration listingPrimaryWindow;
+
+    /*
+     * Without replica routing every listing is read from the primary already
+     */
+    public WebConfig(CatalogChangeCounter catalogChangeCounter,
+                     ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor,
+                     @Value("${app.datasource.replica.enabled:false}") boolean replicaEnabled,
+                     @Value("${app.datasource.read-your-writes.window:5s}") Duration window) {
+        this.catalogChangeCounter = catalogChangeCounter;
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+        this.listingPrimaryWindow = replicaEnabled ? window : Duration.ZERO;
+    }
+
+    /*
+     * Conditional GET on listings; product listings also depend on categories through the category name.
+     * With replica routing, read-your-writes pinning on every API call, and listings read from the primary
+     * for the same window after any catalog write.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+        registry.addInterceptor(new ListingETagInterceptor(catalogChangeCounter, listingPrimaryWindow, CATEGORIES))
+                .addPathPatterns(
+                        "/api/v1/categories",
+                        "/api/v1/categories/scroll",
+                        "/api/v1/categories/search",
+                        "/api/v1/categories/search/**");
+        registry.addInterceptor(new ListingETagInterceptor(catalogChangeCounter, listingPrimaryWindow, PRODUCTS, CATEGORIES))
+                .addPathPatterns(
+                        "/api/v1/products",
+                        "/api/v1/products/scroll",
+                        "/api/v1/products/search",
+                        "/api/v1/products/search/**",
+                        "/api/v1/products/stats",
+                        "/api/v1/products/category/**",
+                        "/api/v1/categories/*/products");
+    }
+}
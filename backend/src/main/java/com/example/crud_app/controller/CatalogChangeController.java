@@ -0,0 +1,38 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.dto.CatalogChangePageDTO;
+import com.example.crud_app.service.CatalogChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/changes")
+@RequiredArgsConstructor
+public class CatalogChangeController {
+
+    private final CatalogChangeService catalogChangeService;
+
+    /*
+     * Catalog changes published after the sequence number `since` (0 = from the oldest retained change),
+     * so consumers sync incrementally by passing back nextSince
+     */
+    @GetMapping
+    public CatalogChangePageDTO getChanges(@RequestParam(defaultValue = "0") long since,
+                                           @RequestParam(defaultValue = "100") int limit) {
+        return catalogChangeService.getChanges(since, limit);
+    }
+
+    /*
+     * Live catalog writes as server-sent events: "change" events carrying the write as it commits, and "resync"
+     * when the client fell too far behind and must reload. The stream starts with a "connected" event.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return catalogChangeService.subscribe();
+    }
+}
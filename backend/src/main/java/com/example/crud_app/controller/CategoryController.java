@@ -2,13 +2,22 @@ package com.example.crud_app.controller;
 
 import com.example.crud_app.dto.*;
 import com.example.crud_app.service.CategoryService;
+import com.example.crud_app.service.ProductService;
+import com.example.crud_app.util.CategoryWithProductsWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
 
 
 @RestController
@@ -17,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
 
     /*
      * Get all categories
@@ -27,19 +38,61 @@ public class CategoryController {
     }
 
     /*
-     * Get single category by ID
+     * Get single category by ID, with a strong ETag; a matching If-None-Match is answered 304 without mapping the category
      */
     @GetMapping("/{id}")
-    public CategoryDTO getCategoryById(@PathVariable Long id) {
-        return categoryService.getCategoryById(id);
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id, WebRequest request) {
+        Versioned<CategoryDTO> category = categoryService.getVersionedCategoryById(id);
+        if (request.checkNotModified(category.version())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(category.version()).body(category.body().get());
+    }
+
+    /*
+     * Get single category by name
+     */
+    @GetMapping("/name/{name}")
+    public CategoryDTO getCategoryByName(@PathVariable String name) {
+        return categoryService.getCategoryByName(name);
+    }
+
+    /*
+     * Category cache statistics, for sizing the cache
+     */
+    @GetMapping("/cache/stats")
+    public Map<String, CacheStatsDTO> getCacheStats() {
+        return categoryService.getCacheStats();
     }
 
     /*
-     * Get category with all its products
+     * Get category with one keyset-paginated slice of its products
+     * GET /api/v1/categories/1/products?size=20&cursor=...
      */
     @GetMapping("/{id}/products")
-    public CategoryWithProductsDTO getCategoryWithProducts(@PathVariable Long id){
-        return categoryService.getCategoryWithProducts(id);
+    public CategoryWithProductsPageDTO getCategoryWithProducts(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return categoryService.getCategoryWithProducts(id, cursor, size, sort);
+    }
+
+    /*
+     * Get category with all its products as one document, written product by product
+     * GET /api/v1/categories/1/products?stream=true
+     */
+    @GetMapping(value = "/{id}/products", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCategoryWithProducts(@PathVariable Long id){
+        CategoryDTO category = categoryService.findCategoryDTOById(id);
+        StreamingResponseBody body = out -> {
+            CategoryWithProductsWriter writer = new CategoryWithProductsWriter(out, category, objectMapper);
+            productService.exportProductsByCategory(id, writer::write);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /*
@@ -81,4 +134,39 @@ public class CategoryController {
             Pageable pageable){
         return categoryService.searchProduct(name,pageable);
     }
+
+    /*
+     * Search categories by name, most relevant first
+     * GET /api/v1/categories/search/ranked?name=elec
+     */
+    @GetMapping("/search/ranked")
+    public Page<CategoryDTO> searchCategoriesRanked(
+            @RequestParam String name,
+            Pageable pageable){
+        return categoryService.searchCategoryRanked(name, pageable);
+    }
+
+    /*
+     * Get all categories with keyset pagination
+     * GET /api/v1/categories/scroll?sort=name&size=20&cursor=...
+     */
+    @GetMapping("/scroll")
+    public CursorPage<CategoryDTO> scrollCategories(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return categoryService.scrollCategories(cursor, size, sort);
+    }
+
+    /*
+     * Search categories with keyset pagination
+     */
+    @GetMapping("/search/scroll")
+    public CursorPage<CategoryDTO> scrollSearchCategories(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return categoryService.scrollSearchCategories(name, cursor, size, sort);
+    }
 }
@@ -1,18 +1,38 @@
 package com.example.crud_app.controller;
 
+import com.example.crud_app.dto.CategoryPriceStatsDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.ProductBatchDTO;
+import com.example.crud_app.dto.ProductBatchReport;
+import com.example.crud_app.dto.ProductBatchRequest;
 import com.example.crud_app.dto.ProductCreateDTO;
 import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductImportReport;
+import com.example.crud_app.dto.ProductSearchResultDTO;
 import com.example.crud_app.dto.ProductUpdateDTO;
+import com.example.crud_app.dto.Versioned;
+import com.example.crud_app.enums.ExportFormat;
+import com.example.crud_app.service.ProductBatchService;
+import com.example.crud_app.service.ProductImportService;
 import com.example.crud_app.service.ProductService;
+import com.example.crud_app.util.ProductExportWriter;
+import com.example.crud_app.util.ProductImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -20,6 +40,9 @@ import java.math.BigDecimal;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductBatchService productBatchService;
+    private final ObjectMapper objectMapper;
 
     /*
      * Get all products with pagination
@@ -39,11 +62,24 @@ public class ProductController {
     }
 
     /*
-     * Get single product by ID
+     * Get many products by ID in one round trip, in request order
+     * GET /api/v1/products/batch?ids=3,1,7
+     */
+    @GetMapping("/batch")
+    public ProductBatchDTO getProductsByIds(@RequestParam List<Long> ids){
+        return productService.getProductsByIds(ids);
+    }
+
+    /*
+     * Get single product by ID, with a strong ETag; a matching If-None-Match is answered 304 without mapping the product
      */
     @GetMapping("/{id}")
-    public ProductDTO getProductById(@PathVariable Long id){
-        return productService.getProductById(id);
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest request){
+        Versioned<ProductDTO> product = productService.getVersionedProductById(id);
+        if (request.checkNotModified(product.version())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(product.version()).body(product.body().get());
     }
 
     /*
@@ -56,6 +92,15 @@ public class ProductController {
         return productService.createProduct(createDTO);
     }
 
+    /*
+     * Create, update and delete many products in one transaction, with a result per operation
+     * POST /api/v1/products/batch
+     */
+    @PostMapping("/batch")
+    public ProductBatchReport applyBatch(@Valid @RequestBody ProductBatchRequest request){
+        return productBatchService.applyOperations(request.operations());
+    }
+
     /*
      * Update an existing product
      * PUT /api/v1/products/1
@@ -88,4 +133,112 @@ public class ProductController {
         return productService.searchProduct(name,minPrice,maxPrice,pageable);
     }
 
+    /*
+     * Search a product, with facet counts by category and price band
+     * GET /api/v1/products/search?name=phone&facets=true
+     */
+    @GetMapping(value = "/search", params = "facets=true")
+    public ProductSearchResultDTO searchProductsWithFacets(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            Pageable pageable){
+        return productService.searchProductWithFacets(name, minPrice, maxPrice, pageable);
+    }
+
+    /*
+     * Search products by name, most relevant first
+     * GET /api/v1/products/search/ranked?name=lapt&maxPrice=1500
+     */
+    @GetMapping("/search/ranked")
+    public Page<ProductDTO> searchProductsRanked(
+            @RequestParam String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            Pageable pageable){
+        return productService.searchProductRanked(name, minPrice, maxPrice, pageable);
+    }
+
+    /*
+     * Price stats and histogram per category, for the price filter
+     * GET /api/v1/products/stats?categoryId=1&buckets=10
+     */
+    @GetMapping("/stats")
+    public List<CategoryPriceStatsDTO> getPriceStats(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int buckets){
+        return productService.getPriceStats(categoryId, buckets);
+    }
+
+    /*
+     * Get all products with keyset pagination
+     * GET /api/v1/products/scroll?sort=price&size=20&cursor=...
+     */
+    @GetMapping("/scroll")
+    public CursorPage<ProductDTO> scrollProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return productService.scrollProducts(cursor, size, sort);
+    }
+
+    /*
+     * Get products in a specific category with keyset pagination
+     */
+    @GetMapping("/category/{categoryId}/scroll")
+    public CursorPage<ProductDTO> scrollProductsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return productService.scrollProductsByCategory(categoryId, cursor, size, sort);
+    }
+
+    /*
+     * Search products with keyset pagination
+     */
+    @GetMapping("/search/scroll")
+    public CursorPage<ProductDTO> scrollSearchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort){
+        return productService.scrollSearchProducts(name, minPrice, maxPrice, cursor, size, sort);
+    }
+
+    /*
+     * Export every product matching the search filters as NDJSON or CSV
+     * GET /api/v1/products/export?format=csv&minPrice=10
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "ndjson") String format){
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        StreamingResponseBody body = out -> {
+            ProductExportWriter writer = new ProductExportWriter(out, exportFormat, objectMapper);
+            productService.exportProducts(name, minPrice, maxPrice, writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products." + exportFormat.getExtension())
+                .body(body);
+    }
+
+    /*
+     * Bulk import products from a streamed NDJSON or CSV body, in the export layout
+     * POST /api/v1/products/import?format=csv
+     */
+    @PostMapping("/import")
+    public ProductImportReport importProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                              InputStream body){
+        ExportFormat importFormat = ExportFormat.fromValue(format);
+        return productImportService.importProducts(new ProductImportReader(body, importFormat, objectMapper));
+    }
+
 }
@@ -1,16 +1,25 @@
 package com.example.crud_app.controller;
 
 import com.example.crud_app.dto.CreateUserDTO;
+import com.example.crud_app.dto.CursorPage;
 import com.example.crud_app.dto.UpdateUserDTO;
 import com.example.crud_app.dto.UserDTO;
-import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.ExportFormat;
+import com.example.crud_app.enums.Role;
+import com.example.crud_app.security.AuthenticatedUser;
 import com.example.crud_app.service.UserService;
+import com.example.crud_app.util.UserExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-import java.util.Optional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -18,10 +27,53 @@ import java.util.Optional;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
+    /*
+     * List users, optionally filtered by role and username prefix
+     * GET /api/v1/users?role=ADMIN&username=jo&sort=username
+     */
     @GetMapping
-    public List<UserDTO> getAllUsers() {
-        return userService.getAllUsers();
+    public Page<UserDTO> getAllUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String username,
+            @PageableDefault(size = 20, sort = "username") Pageable pageable) {
+        return userService.getAllUsers(role, username, pageable);
+    }
+
+    /*
+     * List users with keyset pagination
+     * GET /api/v1/users/scroll?role=USER&username=jo&sort=username&cursor=...
+     */
+    @GetMapping("/scroll")
+    public CursorPage<UserDTO> scrollUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "username") String sort) {
+        return userService.scrollUsers(role, username, cursor, size, sort);
+    }
+
+    /*
+     * Stream all matching users as NDJSON (default) or CSV, for admin tooling
+     * GET /api/v1/users/export?format=csv&role=USER
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String username,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        StreamingResponseBody body = out -> {
+            UserExportWriter writer = new UserExportWriter(out, exportFormat, objectMapper);
+            userService.exportUsers(role, username, writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -30,10 +82,19 @@ public class UserController {
     }
 
     @GetMapping("/username/{username}")
-    public Optional<User> getUserByUsername(@PathVariable String username) {
+    public UserDTO getUserByUsername(@PathVariable String username) {
         return userService.getUserByUsername(username);
     }
 
+    /*
+     * The caller, straight from the token claims (no database access)
+     * GET /api/v1/users/me
+     */
+    @GetMapping("/me")
+    public UserDTO getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        return new UserDTO(user.id(), user.username(), user.role());
+    }
+
     /*
      * Create User
      */
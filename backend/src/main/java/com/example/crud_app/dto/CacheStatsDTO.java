@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+/**
+ * Hit/miss/eviction counters of an in-process cache, for sizing it
+ */
+public record CacheStatsDTO(
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount,
+        long estimatedSize
+) {}
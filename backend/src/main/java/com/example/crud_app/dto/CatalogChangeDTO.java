@@ -0,0 +1,23 @@
+package com.example.crud_app.dto;
+
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * One published catalog change. payload is the ProductDTO or CategoryDTO after the change, null for deletions.
+ * A product import records one IMPORTED change per committed batch (entityId 0, payload the number of products)
+ * instead of a change per product: reload the products when one arrives.
+ * Deleting a category also deletes its products without a change per product, and renaming a category
+ * does not repeat its products with the new categoryName.
+ */
+public record CatalogChangeDTO(
+        long sequence,
+        CatalogEntityType entityType,
+        Long entityId,
+        ChangeType changeType,
+        @JsonRawValue String payload,
+        Instant changedAt
+) {}
@@ -0,0 +1,15 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Slice of the change feed. Pass nextSince back as since to get the following changes.
+ * resyncRequired means changes after since were already purged: reload the catalog, then follow the feed
+ * from the sequence of the first change returned, or from nextSince when none was.
+ */
+public record CatalogChangePageDTO(
+        List<CatalogChangeDTO> changes,
+        long nextSince,
+        boolean hasMore,
+        boolean resyncRequired
+) {}
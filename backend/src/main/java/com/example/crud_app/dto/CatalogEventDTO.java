@@ -0,0 +1,16 @@
+package com.example.crud_app.dto;
+
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+
+/**
+ * A catalog write, as appended to the change outbox and pushed to event stream subscribers.
+ * payload is the ProductDTO or CategoryDTO after the change, null for deletions.
+ * IMPORTED changes are about many rows: entityId is 0 and payload a ProductImportBatchDTO.
+ */
+public record CatalogEventDTO(
+        CatalogEntityType entityType,
+        Long entityId,
+        ChangeType changeType,
+        Object payload
+) {}
@@ -0,0 +1,10 @@
+package com.example.crud_app.dto;
+
+/**
+ * Number of search matches in one category
+ */
+public record CategoryFacetDTO(
+        Long categoryId,
+        String categoryName,
+        long count
+) {}
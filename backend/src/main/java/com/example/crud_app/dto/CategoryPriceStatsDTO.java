@@ -0,0 +1,17 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Price summary of the products in one category, with an equal-width histogram between its min and max price.
+ * A category whose products all share one price has a single bucket.
+ */
+public record CategoryPriceStatsDTO(
+        Long categoryId,
+        long count,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        BigDecimal avgPrice,
+        List<PriceBucketDTO> histogram
+) {}
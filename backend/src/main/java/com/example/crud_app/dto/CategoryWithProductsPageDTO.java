@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+/**
+ * Category with one keyset-paginated slice of its products.
+ * Pass products.nextCursor back as the cursor parameter to fetch the following slice.
+ */
+public record CategoryWithProductsPageDTO(
+        Long id,
+        String name,
+        String description,
+        CursorPage<ProductDTO> products
+) {}
@@ -0,0 +1,14 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Slice of a keyset (cursor) paginated listing.
+ * nextCursor is opaque and must be passed back unchanged to fetch the following slice.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Number of search matches priced from `from` (inclusive) up to `to` (exclusive); a null bound is open
+ */
+public record PriceBandFacetDTO(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {}
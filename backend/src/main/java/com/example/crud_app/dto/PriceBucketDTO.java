@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One histogram bucket: prices from `from` (inclusive) up to `to` (exclusive, inclusive for the last bucket)
+ */
+public record PriceBucketDTO(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {}
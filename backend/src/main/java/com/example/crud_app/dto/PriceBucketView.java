@@ -0,0 +1,10 @@
+package com.example.crud_app.dto;
+
+/**
+ * Product count of one price histogram bucket of a category, read straight from a GROUP BY query
+ */
+public interface PriceBucketView {
+    Long getCategoryId();
+    Number getBucket();
+    long getCount();
+}
@@ -0,0 +1,14 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-category price aggregates, read straight from a GROUP BY query
+ */
+public interface PriceStatsView {
+    Long getCategoryId();
+    long getCount();
+    BigDecimal getMinPrice();
+    BigDecimal getMaxPrice();
+    BigDecimal getTotalPrice();
+}
@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Products fetched by id in one request.
+ * products follows the order of the requested ids (duplicates collapsed); missingIds lists ids with no product.
+ */
+public record ProductBatchDTO(
+        List<ProductDTO> products,
+        List<Long> missingIds
+) {}
@@ -0,0 +1,18 @@
+package com.example.crud_app.dto;
+
+import com.example.crud_app.enums.BatchOperationType;
+
+import java.math.BigDecimal;
+
+/**
+ * One operation of a batch product write.
+ * CREATE needs name, price and categoryId; UPDATE needs id and changes only the fields that are set;
+ * DELETE needs id only.
+ */
+public record ProductBatchOperation(
+        BatchOperationType op,
+        Long id,
+        String name,
+        BigDecimal price,
+        Long categoryId
+) {}
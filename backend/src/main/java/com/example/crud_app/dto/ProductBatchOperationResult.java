@@ -0,0 +1,15 @@
+package com.example.crud_app.dto;
+
+import com.example.crud_app.enums.BatchOperationType;
+
+/**
+ * Outcome of one batch operation, by its position in the request.
+ * id is the generated id for an applied CREATE; error is set when the operation was not applied.
+ */
+public record ProductBatchOperationResult(
+        int index,
+        BatchOperationType op,
+        Long id,
+        boolean applied,
+        String error
+) {}
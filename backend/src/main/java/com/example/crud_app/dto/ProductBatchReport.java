@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch product write, with one result per requested operation in request order
+ */
+public record ProductBatchReport(
+        int applied,
+        int failed,
+        List<ProductBatchOperationResult> results
+) {}
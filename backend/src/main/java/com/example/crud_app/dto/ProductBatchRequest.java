@@ -0,0 +1,13 @@
+package com.example.crud_app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Batch of product writes applied in one transaction
+ */
+public record ProductBatchRequest(
+        @NotEmpty(message = "At least one operation is required")
+        List<ProductBatchOperation> operations
+) {}
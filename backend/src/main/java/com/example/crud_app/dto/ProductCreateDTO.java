@@ -1,6 +1,7 @@
 package com.example.crud_app.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
 
@@ -10,8 +11,8 @@ import java.math.BigDecimal;
 public record ProductCreateDTO(
         @NotBlank(message = "Product name is required")
         String name,
-        @NotBlank(message = "Price is required")
+        @NotNull(message = "Price is required")
         BigDecimal price,
-        @NotBlank(message = "Category is required")
+        @NotNull(message = "Category is required")
         Long categoryId
 ) {}
@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Facet counts over every match of a search, not just the returned page.
+ * categories lists only categories with matches, most matches first; priceBands lists every configured band.
+ */
+public record ProductFacetsDTO(
+        List<CategoryFacetDTO> categories,
+        List<PriceBandFacetDTO> priceBands
+) {}
@@ -0,0 +1,8 @@
+package com.example.crud_app.dto;
+
+/**
+ * Payload of the IMPORTED change recorded for each committed batch of a product import
+ */
+public record ProductImportBatchDTO(
+        int imported
+) {}
@@ -0,0 +1,10 @@
+package com.example.crud_app.dto;
+
+/**
+ * Reason a single import row was rejected
+ */
+public record ProductImportError(
+        long line,
+        String name,
+        String message
+) {}
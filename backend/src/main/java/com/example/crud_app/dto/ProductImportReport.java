@@ -0,0 +1,14 @@
+package com.example.crud_app.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import.
+ * errors lists rejected rows, up to a fixed limit; failed is always the full count.
+ */
+public record ProductImportReport(
+        long processed,
+        long imported,
+        long failed,
+        List<ProductImportError> errors
+) {}
@@ -0,0 +1,14 @@
+package com.example.crud_app.dto;
+
+/**
+ * Raw product row read from an import file, before validation.
+ * Category may be given by id or by name; parseError is set when the line could not be read at all.
+ */
+public record ProductImportRow(
+        long line,
+        String name,
+        String price,
+        String categoryId,
+        String categoryName,
+        String parseError
+) {}
@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Category and price of one product, read straight from a query to build the price summary
+ */
+public interface ProductPriceView {
+    Long getId();
+    Long getCategoryId();
+    BigDecimal getPrice();
+}
@@ -0,0 +1,11 @@
+package com.example.crud_app.dto;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of search results together with the facet counts of the whole search
+ */
+public record ProductSearchResultDTO(
+        Page<ProductDTO> results,
+        ProductFacetsDTO facets
+) {}
@@ -0,0 +1,14 @@
+package com.example.crud_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat projection of a product row joined to its category, read straight from a query
+ */
+public interface ProductView {
+    Long getId();
+    String getName();
+    BigDecimal getPrice();
+    Long getCategoryId();
+    String getCategoryName();
+}
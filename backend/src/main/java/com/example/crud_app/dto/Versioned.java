@@ -0,0 +1,12 @@
+package com.example.crud_app.dto;
+
+import java.util.function.Supplier;
+
+/**
+ * A resource's version tag with its body, which is only mapped when requested,
+ * so a conditional GET answered 304 never runs the mapper.
+ */
+public record Versioned<T>(
+        String version,
+        Supplier<T> body
+) {}
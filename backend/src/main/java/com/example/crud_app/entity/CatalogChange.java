@@ -0,0 +1,46 @@
+package com.example.crud_app.entity;
+
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/*
+ * Outbox row of a catalog write, inserted in the writing transaction by CatalogOutbox.
+ * sequence is null until CatalogChangeRelay publishes the row; published rows are numbered without gaps in
+ * publish order, which is the order of the /api/v1/changes feed.
+ */
+@Entity
+@Table(name = "catalog_changes", indexes = {
+        @Index(name = "idx_catalog_changes_sequence", columnList = "sequence", unique = true),
+        @Index(name = "idx_catalog_changes_published_at", columnList = "published_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private CatalogEntityType entityType;
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+    // JSON of the entity's DTO after the change; null for deletions
+    @Column(length = 4000)
+    private String payload;
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+    private Long sequence;
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.crud_app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/*
+ * High-water mark of the change feed: the last sequence number CatalogChangeRelay handed out.
+ * A single row, locked by the relay while it numbers a batch. Kept apart from catalog_changes so numbering
+ * carries on after the retention purge has emptied that table.
+ */
+@Entity
+@Table(name = "catalog_change_sequence")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangeSequence {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
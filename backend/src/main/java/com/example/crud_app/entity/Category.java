@@ -2,6 +2,7 @@ package com.example.crud_app.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -22,4 +23,9 @@ public class Category {
     private String description;
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Product> products;
+    // optimistic-lock version, also the strong ETag of the resource; rows inserted over JDBC start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
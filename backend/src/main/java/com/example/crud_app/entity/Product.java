@@ -2,11 +2,17 @@ package com.example.crud_app.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // keyset pagination: each slice is a range scan on (sort key, id)
+        @Index(name = "idx_products_name_id", columnList = "name, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_category_id", columnList = "category_id, id")
+})
 @Getter
 @Setter
 @Builder
@@ -24,4 +30,9 @@ public class Product {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
+    // optimistic-lock version, also the strong ETag of the resource; rows inserted over JDBC start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -11,7 +11,10 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // keyset pagination within a role; the unique username index already orders the unfiltered listing
+        @Index(name = "idx_users_role_username_id", columnList = "role, username, id")
+})
 @Getter
 @Setter
 @Builder
@@ -35,6 +38,6 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 }
@@ -0,0 +1,7 @@
+package com.example.crud_app.enums;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
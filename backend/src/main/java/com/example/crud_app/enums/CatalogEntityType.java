@@ -0,0 +1,6 @@
+package com.example.crud_app.enums;
+
+public enum CatalogEntityType {
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,9 @@
+package com.example.crud_app.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // rows of the entity type written in bulk without a change per row; consumers reload them
+    IMPORTED
+}
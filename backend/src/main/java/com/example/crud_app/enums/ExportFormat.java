@@ -0,0 +1,34 @@
+package com.example.crud_app.enums;
+
+import com.example.crud_app.exception.UnsupportedExportFormatException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedExportFormatException("Unsupported export format '" + value + "', expected ndjson or csv"));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.crud_app.enums;
+
+/*
+ * Endpoint groups with their own rate and concurrency limits (app.rate-limit.groups.*)
+ */
+public enum RateLimitGroup {
+    LOGIN,
+    SEARCH,
+    READ,
+    EXPORT,
+    WRITE
+}
@@ -0,0 +1,7 @@
+package com.example.crud_app.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
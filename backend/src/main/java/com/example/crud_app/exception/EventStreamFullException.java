@@ -0,0 +1,7 @@
+package com.example.crud_app.exception;
+
+public class EventStreamFullException extends RuntimeException {
+    public EventStreamFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.crud_app.exception;
+
+public class UnsupportedExportFormatException extends RuntimeException {
+    public UnsupportedExportFormatException(String message) {
+        super(message);
+    }
+}
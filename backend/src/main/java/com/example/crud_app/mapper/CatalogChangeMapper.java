@@ -0,0 +1,11 @@
+package com.example.crud_app.mapper;
+
+import com.example.crud_app.dto.CatalogChangeDTO;
+import com.example.crud_app.entity.CatalogChange;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface CatalogChangeMapper {
+
+    CatalogChangeDTO toDTO(CatalogChange change);
+}
@@ -19,10 +19,12 @@ public interface CategoryMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Category toEntity(CategoryCreateDTO createDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "products", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(@MappingTarget Category category, CategoryUpdateDTO updateDTO);
 
     @Mapping(target = "products", source = "products")
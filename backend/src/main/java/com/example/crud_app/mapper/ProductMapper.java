@@ -3,6 +3,7 @@ package com.example.crud_app.mapper;
 import com.example.crud_app.dto.ProductCreateDTO;
 import com.example.crud_app.dto.ProductDTO;
 import com.example.crud_app.dto.ProductUpdateDTO;
+import com.example.crud_app.dto.ProductView;
 import com.example.crud_app.entity.Product;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -17,13 +18,17 @@ public interface ProductMapper {
     @Mapping(target = "categoryName", source = "category.name")
     ProductDTO toDTO(Product product);
 
+    ProductDTO toDTO(ProductView view);
+
     List<ProductDTO> toDTOList(List<Product> products);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Product toEntity(ProductCreateDTO createDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(@MappingTarget Product product, ProductUpdateDTO updateDTO);
 }
@@ -0,0 +1,37 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.entity.CatalogChange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    // oldest unpublished changes, in insert order, locked so concurrent relays never number a change twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<CatalogChange> findBySequenceIsNullOrderByIdAsc(Limit limit);
+
+    // the feed: published changes after a sequence number
+    List<CatalogChange> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+
+    // only seeds the high-water mark; retained changes may all have been purged
+    @Query("SELECT COALESCE(MAX(c.sequence), 0) FROM CatalogChange c")
+    long maxSequence();
+
+    // oldest retained published change, null when every one was purged
+    @Query("SELECT MIN(c.sequence) FROM CatalogChange c")
+    Long minSequence();
+
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,22 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.entity.CatalogChangeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogChangeSequenceRepository extends JpaRepository<CatalogChangeSequence, Long> {
+
+    // the high-water mark, locked so concurrent relays never hand out a sequence number twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CatalogChangeSequence s WHERE s.id = " + CatalogChangeSequence.ID)
+    Optional<CatalogChangeSequence> findForUpdate();
+
+    @Query("SELECT COALESCE(MAX(s.lastSequence), 0) FROM CatalogChangeSequence s")
+    long lastSequence();
+}
@@ -5,6 +5,7 @@ import com.example.crud_app.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +14,7 @@ import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
 
     Optional<Category> findByName(String name);
 
@@ -37,4 +38,21 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             @Param("name") String category,
                         Pageable pageable);
 
+    /*
+     * Relevance-ranked name search, portable JPQL (H2 in dev)
+     */
+    @Query(value = "SELECT c FROM Category c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "ORDER BY CASE WHEN LOWER(c.name) = LOWER(:name) THEN 0 " +
+            "WHEN LOWER(c.name) LIKE LOWER(CONCAT(:name, '%')) THEN 1 ELSE 2 END, LENGTH(c.name), c.id",
+            countQuery = "SELECT COUNT(c) FROM Category c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    Page<Category> searchRanked(@Param("name") String name, Pageable pageable);
+
+    /*
+     * Relevance-ranked name search on PostgreSQL, served by the pg_trgm GIN index idx_categories_name_trgm
+     */
+    @Query(value = "SELECT * FROM categories c WHERE c.name ILIKE '%' || :name || '%' OR c.name % :name " +
+            "ORDER BY similarity(c.name, :name) DESC, c.id",
+            countQuery = "SELECT COUNT(*) FROM categories c WHERE c.name ILIKE '%' || :name || '%' OR c.name % :name",
+            nativeQuery = true)
+    Page<Category> searchRankedTrigram(@Param("name") String name, Pageable pageable);
 }
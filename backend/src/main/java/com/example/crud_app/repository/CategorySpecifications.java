@@ -0,0 +1,20 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.entity.Category;
+import org.springframework.data.jpa.domain.Specification;
+
+/*
+ * Criteria for category listings. A null argument leaves the listing unfiltered.
+ */
+public final class CategorySpecifications {
+
+    private CategorySpecifications() {
+    }
+
+    // same filter as CategoryRepository.searchCategory
+    public static Specification<Category> nameContains(String name) {
+        return (root, query, cb) -> name == null
+                ? null
+                : cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+    }
+}
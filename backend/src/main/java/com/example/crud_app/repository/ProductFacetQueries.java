@@ -0,0 +1,17 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.util.PriceBands;
+import org.springframework.data.jpa.domain.Specification;
+
+/*
+ * Aggregations over product searches that derived and @Query methods cannot express
+ */
+public interface ProductFacetQueries {
+
+    /*
+     * Category and price-band counts of the products matching the filter, in one grouped query
+     */
+    ProductFacetsDTO facets(Specification<Product> filter, PriceBands priceBands);
+}
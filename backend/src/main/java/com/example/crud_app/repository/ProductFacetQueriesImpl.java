@@ -0,0 +1,79 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.dto.CategoryFacetDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.util.PriceBands;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Facets as a single GROUP BY category query with one conditional SUM per price band:
+ * SELECT c.id, c.name, SUM(CASE WHEN price < :edge1 THEN 1 ELSE 0 END), ... GROUP BY c.id, c.name.
+ * Band bounds only appear inside the aggregates, so the grouping stays on plain columns.
+ */
+public class ProductFacetQueriesImpl implements ProductFacetQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ProductFacetsDTO facets(Specification<Product> filter, PriceBands priceBands) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category");
+        Path<BigDecimal> price = product.get("price");
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(category.get("id"));
+        selections.add(category.get("name"));
+        for (int band = 0; band < priceBands.size(); band++) {
+            selections.add(cb.sum(cb.<Long>selectCase().when(inBand(cb, price, priceBands, band), 1L).otherwise(0L)));
+        }
+        query.multiselect(selections);
+        Predicate where = filter.toPredicate(product, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.groupBy(category.get("id"), category.get("name"));
+
+        List<CategoryFacetDTO> categories = new ArrayList<>();
+        long[] bandCounts = new long[priceBands.size()];
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long count = 0;
+            for (int band = 0; band < priceBands.size(); band++) {
+                long inBand = ((Number) row.get(band + 2)).longValue();
+                bandCounts[band] += inBand;
+                count += inBand;
+            }
+            categories.add(new CategoryFacetDTO(row.get(0, Long.class), row.get(1, String.class), count));
+        }
+        return priceBands.toFacets(categories, bandCounts);
+    }
+
+    private static Predicate inBand(CriteriaBuilder cb, Path<BigDecimal> price, PriceBands priceBands, int band) {
+        BigDecimal from = priceBands.from(band);
+        BigDecimal to = priceBands.to(band);
+        if (from == null) {
+            return to == null ? cb.conjunction() : cb.lessThan(price, to);
+        }
+        return to == null
+                ? cb.greaterThanOrEqualTo(price, from)
+                : cb.and(cb.greaterThanOrEqualTo(price, from), cb.lessThan(price, to));
+    }
+}
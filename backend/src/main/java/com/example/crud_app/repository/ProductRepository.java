@@ -1,24 +1,61 @@
 package com.example.crud_app.repository;
 
+import com.example.crud_app.dto.PriceBucketView;
+import com.example.crud_app.dto.PriceStatsView;
+import com.example.crud_app.dto.ProductPriceView;
+import com.example.crud_app.dto.ProductView;
 import com.example.crud_app.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductFacetQueries {
 
+    // rows per round trip when streaming products
+    String EXPORT_FETCH_SIZE = "500";
+
+    /*
+     * Read paths join the category in the same query, since ProductDTO needs its id and name
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findById(Long id);
+
+    /*
+     * Batch lookup: one IN query joined to the category, in no particular order
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE p.name ILIKE %:name%")
     Page<Product> findByNameContainingIgnoreCase(@Param("name") String name,Pageable pageable);
 
     // flexible search
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT p FROM Product p WHERE " +
             "(:name IS NULL OR p.name ILIKE %:name%) AND " +
             "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
@@ -29,6 +66,121 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             @Param("maxPrice") BigDecimal maxPrice,
             Pageable pageable);
 
+    /*
+     * Relevance-ranked name search, portable JPQL (H2 in dev).
+     * Exact matches rank first, then prefix matches, then shorter names.
+     */
+    @Query(value = "SELECT p.id AS id, p.name AS name, p.price AS price, c.id AS categoryId, c.name AS categoryName " +
+            "FROM Product p JOIN p.category c WHERE " +
+            "LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "ORDER BY CASE WHEN LOWER(p.name) = LOWER(:name) THEN 0 " +
+            "WHEN LOWER(p.name) LIKE LOWER(CONCAT(:name, '%')) THEN 1 ELSE 2 END, LENGTH(p.name), p.id",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                    "LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND " +
+                    "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+                    "(:maxPrice IS NULL OR p.price <= :maxPrice)")
+    Page<ProductView> searchRanked(
+            @Param("name") String name,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            Pageable pageable);
+
+    /*
+     * Relevance-ranked name search on PostgreSQL, served by the pg_trgm GIN index idx_products_name_trgm
+     * (see data-postgresql.sql). Matches substrings and, through the % operator, near-misses such as typos;
+     * ranked by trigram similarity.
+     */
+    @Query(value = "SELECT p.id AS id, p.name AS name, p.price AS price, c.id AS categoryId, c.name AS categoryName " +
+            "FROM products p JOIN categories c ON c.id = p.category_id WHERE " +
+            "(p.name ILIKE '%' || :name || '%' OR p.name % :name) AND " +
+            "(CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) AND " +
+            "(CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice) " +
+            "ORDER BY similarity(p.name, :name) DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM products p WHERE " +
+                    "(p.name ILIKE '%' || :name || '%' OR p.name % :name) AND " +
+                    "(CAST(:minPrice AS numeric) IS NULL OR p.price >= :minPrice) AND " +
+                    "(CAST(:maxPrice AS numeric) IS NULL OR p.price <= :maxPrice)",
+            nativeQuery = true)
+    Page<ProductView> searchRankedTrigram(
+            @Param("name") String name,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            Pageable pageable);
+
+    /*
+     * Forward-only cursor over the products matching the searchProducts filters.
+     * Rows are fetched from the database in batches of EXPORT_FETCH_SIZE; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE " +
+            "(:name IS NULL OR p.name ILIKE %:name%) AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "ORDER BY p.id")
+    Stream<Product> streamProducts(
+            @Param("name") String name,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice);
+
+    /*
+     * Forward-only cursor over the products of one category, in id order.
+     * Same fetch-size/read-only hints as streamProducts; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE c.id = :categoryId ORDER BY p.id")
+    Stream<Product> streamProductsByCategory(@Param("categoryId") Long categoryId);
+
+    /*
+     * Count, min, max and sum of prices per category, optionally for one category only
+     */
+    @Query("SELECT p.category.id AS categoryId, COUNT(p) AS count, MIN(p.price) AS minPrice, " +
+            "MAX(p.price) AS maxPrice, SUM(p.price) AS totalPrice FROM Product p " +
+            "WHERE (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "GROUP BY p.category.id ORDER BY p.category.id")
+    List<PriceStatsView> priceStatsByCategory(@Param("categoryId") Long categoryId);
+
+    /*
+     * Product count per equal-width price bucket between each category's min and max price.
+     * Bucket numbers run from 0 to buckets - 1; the max price falls in the last bucket, and a category
+     * whose products share one price has everything in bucket 0. Empty buckets are not returned.
+     */
+    @Query(value = "SELECT b.category_id AS categoryId, b.bucket AS bucket, COUNT(*) AS count FROM (" +
+            "SELECT p.category_id, COALESCE(LEAST(FLOOR((p.price - s.min_price) * :buckets / " +
+            "NULLIF(s.max_price - s.min_price, 0)), :buckets - 1), 0) AS bucket " +
+            "FROM products p JOIN (SELECT category_id, MIN(price) AS min_price, MAX(price) AS max_price " +
+            "FROM products GROUP BY category_id) s ON s.category_id = p.category_id " +
+            "WHERE (CAST(:categoryId AS bigint) IS NULL OR p.category_id = :categoryId)) b " +
+            "GROUP BY b.category_id, b.bucket",
+            nativeQuery = true)
+    List<PriceBucketView> priceHistogramByCategory(@Param("categoryId") Long categoryId, @Param("buckets") int buckets);
+
+    /*
+     * Category and price of every product, to build the in-memory price summary
+     */
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price FROM Product p")
+    List<ProductPriceView> findAllPrices();
+
+    /*
+     * All product names, for set-based uniqueness checks in bulk imports
+     */
+    @Query("SELECT p.name FROM Product p")
+    List<String> findAllNames();
+
+    /*
+     * Products holding any of the given names, for set-based uniqueness checks in batch writes
+     */
+    List<Product> findByNameIn(Collection<String> names);
+
     /*
      * Check if product exists by name
      */
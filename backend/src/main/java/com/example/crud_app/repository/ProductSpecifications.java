@@ -0,0 +1,58 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/*
+ * Criteria for product listings. A null argument leaves the listing unfiltered,
+ * so only the filters actually supplied end up in the generated SQL.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /*
+     * Fetch-join the category, which ProductDTO needs, instead of loading it lazily per row.
+     * Count queries are left alone since they cannot fetch.
+     */
+    public static Specification<Product> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("category");
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> inCategory(Long categoryId) {
+        return (root, query, cb) -> categoryId == null
+                ? null
+                : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> nameContains(String name) {
+        return (root, query, cb) -> name == null
+                ? null
+                : cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> minPrice == null
+                ? null
+                : cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> maxPrice == null
+                ? null
+                : cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    // same filters as ProductRepository.searchProducts
+    public static Specification<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice) {
+        return Specification.allOf(nameContains(name), priceAtLeast(minPrice), priceAtMost(maxPrice));
+    }
+}
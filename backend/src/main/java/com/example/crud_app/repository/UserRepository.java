@@ -1,14 +1,52 @@
 package com.example.crud_app.repository;
 
 import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+
+    // rows per round trip when streaming users
+    String EXPORT_FETCH_SIZE = "500";
+
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     Optional<User> findById(Long id);
+
+    /*
+     * Forward-only cursor over the users matching the filters, in id order, for exports.
+     * usernamePattern is a LIKE pattern (see UserSpecifications.likePrefix); must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u FROM User u WHERE " +
+            "(:role IS NULL OR u.role = :role) AND " +
+            "(:usernamePattern IS NULL OR u.username LIKE :usernamePattern ESCAPE '\\') " +
+            "ORDER BY u.id")
+    Stream<User> streamUsers(@Param("role") Role role, @Param("usernamePattern") String usernamePattern);
+
+    /*
+     * Replace a password hash only if it is still the one that was verified,
+     * so a rehash on login never overwrites a concurrent password change
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -0,0 +1,39 @@
+package com.example.crud_app.repository;
+
+import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
+import org.springframework.data.jpa.domain.Specification;
+
+/*
+ * Criteria for user listings. A null argument leaves the listing unfiltered.
+ */
+public final class UserSpecifications {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> search(Role role, String usernamePrefix) {
+        return Specification.allOf(hasRole(role), usernameStartsWith(usernamePrefix));
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return (root, query, cb) -> role == null ? null : cb.equal(root.get("role"), role);
+    }
+
+    // case-sensitive, so on PostgreSQL it is a range scan on idx_users_username_pattern (data-postgresql.sql);
+    // the unique username index uses the database collation, which LIKE cannot use outside the C locale
+    public static Specification<User> usernameStartsWith(String prefix) {
+        return (root, query, cb) -> prefix == null || prefix.isEmpty()
+                ? null
+                : cb.like(root.get("username"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /*
+     * LIKE pattern matching values that start with prefix, with % and _ in the prefix taken literally
+     */
+    public static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.enums.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.util.Optional;
+
+/*
+ * Identity of the caller, built once per request from the verified token claims.
+ * It is the principal of the request's Authentication, so controllers get it with @AuthenticationPrincipal
+ * and services with current(), without a users table lookup.
+ * id is null for tokens issued before the user id claim was added.
+ */
+public record AuthenticatedUser(Long id, String username, Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /*
+     * The caller of the current request, if it carried a valid token
+     */
+    public static Optional<AuthenticatedUser> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? Optional.of(user)
+                : Optional.empty();
+    }
+}
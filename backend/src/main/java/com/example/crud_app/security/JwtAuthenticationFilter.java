@@ -1,6 +1,8 @@
 package com.example.crud_app.security;
 
+import com.example.crud_app.enums.Role;
 import com.example.crud_app.util.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,14 +15,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
+    private final JwtTokenCache jwtTokenCache;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, JwtTokenCache jwtTokenCache) {
         this.jwtUtils = jwtUtils;
+        this.jwtTokenCache = jwtTokenCache;
     }
 
     @Override
@@ -34,15 +39,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            if (jwtUtils.validateToken(token)) {
-                String username = jwtUtils.getUsernameFromToken(token);
-                String role = jwtUtils.getRoleFromToken(token);
+            // token is parsed and verified at most once, and not at all on a cache hit
+            Optional<Claims> claims = jwtTokenCache.verify(token);
+            if (claims.isPresent()) {
+                // immutable principal built from the claims alone: no users table lookup
+                AuthenticatedUser user = new AuthenticatedUser(
+                        jwtUtils.getUserId(claims.get()),
+                        claims.get().getSubject(),
+                        Role.valueOf(jwtUtils.getRole(claims.get())));
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                user,
                                 null,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
                         );
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
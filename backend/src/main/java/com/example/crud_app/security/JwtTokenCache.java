@@ -0,0 +1,96 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.util.JwtUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Bounded cache of verified tokens, so repeat requests with the same token skip HMAC verification.
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never held)
+ * and expire together with the token itself. Hits and misses are published as cache metrics named jwt.verified.tokens.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtUtils jwtUtils;
+    private final boolean enabled;
+    private final Cache<String, Claims> cache;
+
+    public JwtTokenCache(JwtUtils jwtUtils,
+                         MeterRegistry meterRegistry,
+                         @Value("${spring.jwt.cache.enabled:true}") boolean enabled,
+                         @Value("${spring.jwt.cache.maxSize:10000}") long maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified.tokens");
+    }
+
+    /*
+     * Return the verified claims of a token, from the cache when it has been seen before
+     */
+    public Optional<Claims> verify(String token) {
+        if (!enabled) {
+            return jwtUtils.parseVerifiedClaims(token);
+        }
+
+        String key = digest(token);
+        Claims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = jwtUtils.parseVerifiedClaims(token);
+        claims.filter(verified -> verified.getExpiration() != null)
+                .ifPresent(verified -> cache.put(key, verified));
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /*
+     * Evict each entry when its token expires
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.exception.PasswordHashingBusyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * BCrypt hashing off the request threads.
+ * Hashes run on a fixed pool of app.security.bcrypt.threads workers (default: one per core) with a queue of
+ * app.security.bcrypt.queue-capacity; once the queue is full logins are refused with 503 rather than letting
+ * CPU-bound hashing crowd out request handling. Verification is timed as auth.password.verify, hashing as
+ * auth.password.hash, and the pool is published as executor metrics named password.hashing.
+ * Successful verifications can be cached for app.security.login-cache.ttl, keyed by an HMAC of the password
+ * and its stored hash under a per-boot random key: neither the password nor a reusable digest of it is held,
+ * and a new stored hash (password change or rehash) no longer matches any entry.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final int strength;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Cache<String, Boolean> verified;
+    private final SecretKeySpec cacheKey;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.security.bcrypt.strength:10}") int strength,
+                          @Value("${app.security.bcrypt.threads:0}") int threads,
+                          @Value("${app.security.bcrypt.queue-capacity:100}") int queueCapacity,
+                          @Value("${app.security.login-cache.enabled:false}") boolean cacheEnabled,
+                          @Value("${app.security.login-cache.ttl:60s}") Duration cacheTtl,
+                          @Value("${app.security.login-cache.max-size:10000}") long cacheMaxSize) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.strength = strength;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+
+        if (cacheEnabled) {
+            this.verified = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(cacheTtl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "login.verifications");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            this.cacheKey = new SecretKeySpec(key, "HmacSHA256");
+        } else {
+            this.verified = null;
+            this.cacheKey = null;
+        }
+    }
+
+    /*
+     * Check a password against its stored hash, from the verification cache when enabled
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String key = verified == null ? null : digest(rawPassword, encodedPassword);
+        if (key != null && verified.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean matches = run(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            boolean result = passwordEncoder.matches(rawPassword, encodedPassword);
+            sample.stop(passwordTimer("auth.password.verify", "BCrypt password check on login",
+                    result ? "match" : "mismatch"));
+            return result;
+        });
+        if (matches && key != null) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    /*
+     * Hash a password with the configured strength
+     */
+    public String encode(String rawPassword) {
+        return run(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String hash = passwordEncoder.encode(rawPassword);
+            sample.stop(passwordTimer("auth.password.hash", "BCrypt password hashing", "hashed"));
+            return hash;
+        });
+    }
+
+    /*
+     * Whether a stored BCrypt hash was made with a cost other than the configured strength
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many concurrent logins, please retry shortly");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Timer passwordTimer(String name, String description, String result) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String digest(String rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cacheKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.enums.RateLimitGroup;
+import com.example.crud_app.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Rate limiting and load shedding in front of the controllers, run in the security filter chain after
+ * JwtAuthenticationFilter so clients are known by their token subject (by IP before login).
+ * Each /api request falls in a RateLimitGroup; per group:
+ * - every client has a TokenBucket of app.rate-limit.groups.<group>.rate/burst, beyond which it gets 429
+ * - at most max-concurrent requests of the group run at once on this instance, beyond which callers get 503,
+ *   so a flood of one kind of request (say, searches) is shed before it queues on the whole connection pool
+ * Both answer with Retry-After and count in rate.limit.rejected. A rate or max-concurrent of 0 is no limit.
+ * A streamed response (exports, ?stream=true listings) holds its connection until the stream ends, so it keeps
+ * its concurrency slot until the async request completes rather than until the handler returns.
+ * The live event stream holds no connection and is bounded by app.events.max-subscribers instead.
+ * Anonymous clients are told apart by remote address: behind a proxy or NAT that is the proxy's unless
+ * server.forward-headers-strategy is set, and then everyone behind it shares one login bucket.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<RateLimitGroup, AtomicInteger> inFlight = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        // idle clients' buckets are full again anyway, so forgetting them changes nothing
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maxClients())
+                .build();
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            AtomicInteger counter = new AtomicInteger();
+            inFlight.put(group, counter);
+            Gauge.builder("rate.limit.in.flight", counter, AtomicInteger::get)
+                    .description("Requests of the endpoint group being handled")
+                    .tag("group", name(group))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RateLimitGroup group = properties.enabled() ? groupOf(request) : null;
+        RateLimitProperties.Limit limit = group == null ? null : properties.groups().get(group);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (limit.rate() > 0) {
+            long now = System.nanoTime();
+            long wait = buckets.get(name(group) + ":" + client(request),
+                    key -> new TokenBucket(limit.rate(), limit.burst(), now)).tryTake(now);
+            if (wait > 0) {
+                reject(response, group, "rate", HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                        "Rate limit of " + limit.rate() + " " + name(group) + " requests per second exceeded",
+                        TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+                return;
+            }
+        }
+
+        if (limit.maxConcurrent() <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AtomicInteger counter = inFlight.get(group);
+        if (counter.incrementAndGet() > limit.maxConcurrent()) {
+            counter.decrementAndGet();
+            reject(response, group, "concurrency", HttpStatus.SERVICE_UNAVAILABLE, "Server Busy",
+                    "Too many concurrent " + name(group) + " requests, retry later", 1);
+            return;
+        }
+        boolean streamed = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(counter));
+                streamed = true;
+            }
+        } finally {
+            if (!streamed) {
+                counter.decrementAndGet();
+            }
+        }
+    }
+
+    /*
+     * The endpoint group of an /api request; null (not limited) for CORS preflights and everything else
+     */
+    static RateLimitGroup groupOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (!path.startsWith("/api/") || HttpMethod.OPTIONS.matches(method) || path.equals("/api/v1/changes/stream")) {
+            return null;
+        }
+        if (path.startsWith("/api/v1/auth/")) {
+            return RateLimitGroup.LOGIN;
+        }
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            if (path.endsWith("/export") || "true".equals(request.getParameter("stream"))) {
+                return RateLimitGroup.EXPORT;
+            }
+            return path.startsWith("/api/v1/products/search") ? RateLimitGroup.SEARCH : RateLimitGroup.READ;
+        }
+        return RateLimitGroup.WRITE;
+    }
+
+    /*
+     * Gives a streamed request's concurrency slot back once, however the async request ends
+     */
+    private record ReleaseOnCompletion(AtomicInteger counter, AtomicBoolean released) implements AsyncListener {
+
+        ReleaseOnCompletion(AtomicInteger counter) {
+            this(counter, new AtomicBoolean());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // re-registers itself on a new async cycle, still holding the slot
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                counter.decrementAndGet();
+            }
+        }
+    }
+
+    // the proxy's address unless forward headers are trusted (server.forward-headers-strategy)
+    private static String client(HttpServletRequest request) {
+        return AuthenticatedUser.current()
+                .map(user -> "user:" + user.username())
+                .orElseGet(() -> "ip:" + request.getRemoteAddr());
+    }
+
+    private static String name(RateLimitGroup group) {
+        return group.name().toLowerCase(Locale.ROOT);
+    }
+
+    private void reject(HttpServletResponse response, RateLimitGroup group, String reason, HttpStatus status,
+                        String error, String message, long retryAfterSeconds) throws IOException {
+        meterRegistry.counter("rate.limit.rejected", "group", name(group), "reason", reason).increment();
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                error,
+                message,
+                LocalDateTime.now()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfterSeconds, 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.enums.RateLimitGroup;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/*
+ * app.rate-limit: per-client token buckets and per-group concurrency limits applied by RateLimitFilter.
+ * A group without limits is not limited.
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration idleTimeout,
+        Map<RateLimitGroup, Limit> groups
+) {
+
+    /*
+     * rate: requests per second per client, burst: requests a client may send at once,
+     * maxConcurrent: requests of the group in flight on this instance
+     */
+    public record Limit(double rate, int burst, int maxConcurrent) {}
+
+    public Map<RateLimitGroup, Limit> groups() {
+        return groups == null ? Map.of() : groups;
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.crud_app.security;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -18,12 +23,15 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -32,9 +40,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of streamed responses were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/v1/auth/login").permitAll()
 
+                        // Health and Prometheus scrape endpoints
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+
                         // Swagger UI endpoints
                         .requestMatchers(
                                 "/swagger-ui/**",
@@ -46,28 +60,45 @@ public class SecurityConfig {
                         ).permitAll()
 
                         // READ operations - accessible to both USER and ADMIN
-                        .requestMatchers("GET", "/api/v1/categories").hasAnyRole("USER", "ADMIN")
-                        .requestMatchers("GET", "/api/v1/categories/**").hasAnyRole("USER", "ADMIN")
-                        .requestMatchers("GET", "/api/v1/products").hasAnyRole("USER", "ADMIN")
-                        .requestMatchers("GET", "/api/v1/products/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/categories").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/products").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/products/**").hasAnyRole("USER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/changes", "/api/v1/changes/**").hasAnyRole("USER", "ADMIN")
+
+                        // Bulk user export - ADMIN only
+                        .requestMatchers(HttpMethod.GET, "/api/v1/users/export").hasRole("ADMIN")
 
                         // WRITE operations (CREATE, UPDATE, DELETE) - ADMIN only
-                        .requestMatchers("POST", "/api/v1/categories").hasRole("ADMIN")
-                        .requestMatchers("PUT", "/api/v1/categories/**").hasRole("ADMIN")
-                        .requestMatchers("DELETE", "/api/v1/categories/**").hasRole("ADMIN")
-                        .requestMatchers("POST", "/api/v1/products").hasRole("ADMIN")
-                        .requestMatchers("PUT", "/api/v1/products/**").hasRole("ADMIN")
-                        .requestMatchers("DELETE", "/api/v1/products/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/categories").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/categories/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/categories/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/products").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/products/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/products/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/api/v1/products/**").hasRole("ADMIN")
 
                         // Any other request must be authenticated
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // limits are per token subject, so they apply once the token is verified
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /*
+     * The rate limiter only runs in the security filter chain, not also as a servlet filter ahead of it
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     // Cors configuration
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -90,8 +121,11 @@ public class SecurityConfig {
         return source;
     }
 
+    /*
+     * BCrypt cost from app.security.bcrypt.strength; stored hashes of another cost are re-hashed on login
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
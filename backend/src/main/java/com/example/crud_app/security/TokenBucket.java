@@ -0,0 +1,41 @@
+package com.example.crud_app.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Token bucket of burst tokens refilled at rate tokens per second, without a lock.
+ * The whole state is one AtomicLong, the time at which the bucket will be full again: taking a token moves it one
+ * refill interval later, and the bucket is empty when it is more than burst intervals ahead of now
+ * (the generic cell rate algorithm). Times are System.nanoTime() values.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double rate, int burst, long now) {
+        this.intervalNanos = Math.max((long) (TimeUnit.SECONDS.toNanos(1) / rate), 1);
+        this.capacityNanos = intervalNanos * Math.max(burst, 1);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /*
+     * Take a token; 0 when one was taken, otherwise the nanoseconds until one is available
+     */
+    long tryTake(long now) {
+        while (true) {
+            long full = fullAt.get();
+            // an idle bucket refills up to burst, never beyond
+            long next = (full - now > 0 ? full : now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+}
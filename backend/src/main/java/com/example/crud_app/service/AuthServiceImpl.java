@@ -5,9 +5,9 @@ import com.example.crud_app.dto.AuthResponse;
 import com.example.crud_app.entity.User;
 import com.example.crud_app.exception.InvalidCredentialsException;
 import com.example.crud_app.repository.UserRepository;
+import com.example.crud_app.security.PasswordHasher;
 import com.example.crud_app.util.JwtUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,7 +15,7 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtils jwtUtils;
 
     @Override
@@ -24,15 +24,20 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByUsername(loginDTO.username())
                 .orElseThrow(() -> new InvalidCredentialsException("User not found"));
 
-        // 2. Validate password
-        if (!passwordEncoder.matches(loginDTO.password(), user.getPassword())) {
+        // 2. Validate password (BCrypt on the password hashing pool, or a cached verification)
+        if (!passwordHasher.matches(loginDTO.password(), user.getPassword())) {
             throw new InvalidCredentialsException("Invalid credentials");
         }
 
-        // 3. Generate JWT token with role
-        String token = jwtUtils.generateToken(user.getUsername(), user.getRole().name());
+        // 3. Re-hash with the configured BCrypt strength if the stored hash was made with another one
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            userRepository.updatePasswordHash(user.getId(), user.getPassword(), passwordHasher.encode(loginDTO.password()));
+        }
+
+        // 4. Generate JWT token with role
+        String token = jwtUtils.generateToken(user.getId(), user.getUsername(), user.getRole().name());
 
-        // 4. Return response DTO with role
+        // 5. Return response DTO with role
         return new AuthResponse(token, user.getUsername(), user.getRole());
     }
-}
\ No newline at end of file
+}
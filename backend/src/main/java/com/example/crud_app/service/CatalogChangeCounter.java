@@ -0,0 +1,79 @@
+package com.example.crud_app.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/*
+ * Per-table change counters of the catalog, the basis of the weak ETags of listing endpoints.
+ * A counter is bumped after the writing transaction commits, so a reader that sees the new value also sees the new rows.
+ * Tags are prefixed with a boot epoch so they never repeat across restarts; like CategoryCache,
+ * the counters are per instance and assume the catalog is written through this instance.
+ * The time of the last write is kept too, so readers can tell whether a replica may not have caught up with it yet.
+ */
+@Component
+public class CatalogChangeCounter {
+
+    public enum Table { PRODUCTS, CATEGORIES }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Table, AtomicLong> counters = new EnumMap<>(Table.class);
+    // System.nanoTime() of the last write; startup counts as one, the data initializer may just have written
+    private volatile long lastChangedAt = System.nanoTime();
+
+    public CatalogChangeCounter() {
+        for (Table table : Table.values()) {
+            counters.put(table, new AtomicLong());
+        }
+    }
+
+    /*
+     * Record a write to the given tables, once the current transaction (if any) commits
+     */
+    public void changed(Table... tables) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(tables);
+                }
+            });
+        } else {
+            increment(tables);
+        }
+    }
+
+    public long get(Table table) {
+        return counters.get(table).get();
+    }
+
+    /*
+     * Whether any table was written less than the given time ago
+     */
+    public boolean changedWithin(Duration window) {
+        return System.nanoTime() - lastChangedAt < window.toNanos();
+    }
+
+    /*
+     * Opaque tag that changes whenever any of the given tables is written
+     */
+    public String tag(Table... tables) {
+        return epoch + "-" + Arrays.stream(tables)
+                .map(table -> Long.toString(get(table)))
+                .collect(Collectors.joining("."));
+    }
+
+    private void increment(Table... tables) {
+        for (Table table : tables) {
+            counters.get(table).incrementAndGet();
+        }
+        lastChangedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.entity.CatalogChange;
+import com.example.crud_app.entity.CatalogChangeSequence;
+import com.example.crud_app.mapper.CatalogChangeMapper;
+import com.example.crud_app.repository.CatalogChangeRepository;
+import com.example.crud_app.repository.CatalogChangeSequenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Publishes the outbox: every app.outbox.relay.interval-ms it takes the unpublished changes in insert order,
+ * numbers them after the high-water mark in catalog_change_sequence, hands them to the sink in batches of
+ * app.outbox.relay.batch-size and marks them published in the same transaction. Relays on other instances wait on
+ * the row locks of the changes being numbered and of the high-water mark; a failing sink rolls the batch back and it
+ * is retried on the next run.
+ * Published changes are purged after app.outbox.retention; the high-water mark is not, so numbering never restarts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogChangeRelay {
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CatalogChangeSequenceRepository catalogChangeSequenceRepository;
+    private final CatalogChangeMapper catalogChangeMapper;
+    private final CatalogChangeSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedChanges;
+    private final int batchSize;
+    private final Duration retention;
+
+    public CatalogChangeRelay(CatalogChangeRepository catalogChangeRepository,
+                              CatalogChangeSequenceRepository catalogChangeSequenceRepository,
+                              CatalogChangeMapper catalogChangeMapper,
+                              CatalogChangeSink sink,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                              @Value("${app.outbox.retention:7d}") Duration retention) {
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.catalogChangeSequenceRepository = catalogChangeSequenceRepository;
+        this.catalogChangeMapper = catalogChangeMapper;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedChanges = Counter.builder("catalog.changes.published")
+                .description("Catalog changes handed to the outbox sink")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.relay.interval-ms:1000}",
+            fixedDelayString = "${app.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Catalog change relay failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /*
+     * Publish the next batch of unpublished changes; the number published
+     */
+    int publishBatch() {
+        List<CatalogChange> changes = catalogChangeRepository.findBySequenceIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        // created on the first run, after the changes numbered before it existed; a relay racing to create it
+        // fails on the primary key and retries on its next run
+        CatalogChangeSequence highWater = catalogChangeSequenceRepository.findForUpdate()
+                .orElseGet(() -> catalogChangeSequenceRepository.save(new CatalogChangeSequence(
+                        CatalogChangeSequence.ID, catalogChangeRepository.maxSequence())));
+        long sequence = highWater.getLastSequence();
+        Instant now = Instant.now();
+        for (CatalogChange change : changes) {
+            change.setSequence(++sequence);
+            change.setPublishedAt(now);
+        }
+        highWater.setLastSequence(sequence);
+        catalogChangeRepository.flush();
+        sink.publish(changes.stream().map(catalogChangeMapper::toDTO).toList());
+        publishedChanges.increment(changes.size());
+        return changes.size();
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.retention-check-ms:3600000}",
+            fixedDelayString = "${app.outbox.retention-check-ms:3600000}")
+    public void purge() {
+        try {
+            Integer purged = transactionTemplate.execute(status ->
+                    catalogChangeRepository.deletePublishedBefore(Instant.now().minus(retention)));
+            if (purged != null && purged > 0) {
+                log.info("Purged {} published catalog changes older than {}", purged, retention);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Catalog change purge failed: {}", e.getMessage());
+        }
+    }
+}
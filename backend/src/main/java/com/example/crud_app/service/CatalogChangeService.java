@@ -0,0 +1,11 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogChangePageDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface CatalogChangeService {
+
+    CatalogChangePageDTO getChanges(long since, int limit);
+
+    SseEmitter subscribe();
+}
@@ -0,0 +1,66 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogChangeDTO;
+import com.example.crud_app.dto.CatalogChangePageDTO;
+import com.example.crud_app.mapper.CatalogChangeMapper;
+import com.example.crud_app.repository.CatalogChangeRepository;
+import com.example.crud_app.repository.CatalogChangeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogChangeServiceImpl implements CatalogChangeService {
+
+    // most changes per feed request
+    private static final int MAX_LIMIT = 1000;
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CatalogChangeSequenceRepository catalogChangeSequenceRepository;
+    private final CatalogChangeMapper catalogChangeMapper;
+    private final CatalogEventBroadcaster catalogEventBroadcaster;
+
+    /*
+     * Published changes after the sequence number `since`, oldest first.
+     * One range query on the sequence index, fetching one extra row to tell whether more follow.
+     * The retention purge removes the oldest changes first, so a gap can only come before the first change returned;
+     * with nothing returned, the retained range and the high-water mark tell an up-to-date consumer from one whose
+     * changes were all purged, or one ahead of the feed (after a database restore).
+     */
+    @Override
+    public CatalogChangePageDTO getChanges(long since, int limit){
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<CatalogChangeDTO> changes = catalogChangeRepository
+                .findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(size + 1)).stream()
+                .map(catalogChangeMapper::toDTO)
+                .toList();
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        if (!changes.isEmpty()) {
+            boolean resyncRequired = changes.get(0).sequence() > since + 1;
+            return new CatalogChangePageDTO(changes, changes.get(changes.size() - 1).sequence(), hasMore, resyncRequired);
+        }
+        long lastSequence = catalogChangeSequenceRepository.lastSequence();
+        boolean resyncRequired = since > lastSequence
+                || (since < lastSequence && catalogChangeRepository.minSequence() == null);
+        return new CatalogChangePageDTO(changes, resyncRequired ? lastSequence : since, false, resyncRequired);
+    }
+
+    /*
+     * Live stream of catalog writes; no transaction, the stream outlives the request
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public SseEmitter subscribe(){
+        return catalogEventBroadcaster.subscribe();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogChangeDTO;
+
+import java.util.List;
+
+/*
+ * Destination of the changes published by CatalogChangeRelay, selected with app.outbox.sink.type.
+ * Delivery is at least once: a batch is republished when its transaction fails after publish() returned,
+ * so consumers de-duplicate on the sequence number.
+ */
+public interface CatalogChangeSink {
+
+    void publish(List<CatalogChangeDTO> changes);
+}
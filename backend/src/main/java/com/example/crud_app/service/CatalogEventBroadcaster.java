@@ -0,0 +1,296 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogEventDTO;
+import com.example.crud_app.exception.EventStreamFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Fan-out of committed catalog writes to server-sent event subscribers.
+ * A subscriber is an async SseEmitter, so an idle connection holds no thread. Publishing only appends the
+ * serialized event to each subscriber's buffer of app.events.buffer-size messages; a small pool of
+ * app.events.sender-threads drains the buffers, at most one task per subscriber at a time.
+ * A subscriber whose buffer is full (a slow consumer) has its buffered events dropped and replaced by one
+ * "resync" event, telling it to reload instead of applying changes one by one.
+ * Idle streams get a heartbeat comment every app.events.heartbeat-ms, which also detects gone clients.
+ * Sends are blocking writes, so a client that stops reading with a full TCP window would hold a sender thread
+ * until the container's write timeout; the heartbeat also drops subscribers whose send has been blocked for longer
+ * than app.events.send-timeout and interrupts the send, so a few stalled clients cannot starve everyone else.
+ * Like CatalogChangeCounter, subscribers only see writes made through this instance.
+ */
+@Slf4j
+@Component
+public class CatalogEventBroadcaster {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService sender;
+    private final Counter droppedEvents;
+    private final Counter stalledSubscribers;
+    // reservations against maxSubscribers, taken before a subscriber is added and released when it is removed
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+
+    public CatalogEventBroadcaster(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.events.buffer-size:256}") int bufferSize,
+                                   @Value("${app.events.max-subscribers:10000}") int maxSubscribers,
+                                   @Value("${app.events.sender-threads:4}") int senderThreads,
+                                   @Value("${app.events.timeout:30m}") Duration timeout,
+                                   @Value("${app.events.send-timeout:10s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "catalog-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sender = ExecutorServiceMetrics.monitor(meterRegistry, pool, "catalog.events.sender");
+        this.droppedEvents = Counter.builder("catalog.events.dropped")
+                .description("Catalog events dropped from the buffers of slow event stream subscribers")
+                .register(meterRegistry);
+        this.stalledSubscribers = Counter.builder("catalog.events.stalled")
+                .description("Event stream subscribers dropped because a send to them stayed blocked")
+                .register(meterRegistry);
+        Gauge.builder("catalog.events.subscribers", subscribers, Set::size)
+                .description("Open catalog event streams")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Open a stream; refused with EventStreamFullException beyond app.events.max-subscribers
+     */
+    public SseEmitter subscribe() {
+        if (openStreams.incrementAndGet() > maxSubscribers) {
+            openStreams.decrementAndGet();
+            throw new EventStreamFullException("Too many open event streams, retry later");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        // sent right away so clients (and proxies) see the stream open; reconnecting clients reload on it
+        subscriber.offer(new Message("connected", "{}"), false);
+        return emitter;
+    }
+
+    /*
+     * Push events to every subscriber once the current transaction (if any) commits
+     */
+    public void publish(List<CatalogEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(events);
+                }
+            });
+        } else {
+            broadcast(events);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.events.heartbeat-ms:15000}",
+            fixedDelayString = "${app.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        Message heartbeat = new Message(null, null);
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.dropIfStalled(now)) {
+                subscriber.offer(heartbeat, true);
+            }
+        }
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        pool.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            openStreams.decrementAndGet();
+        }
+    }
+
+    private void broadcast(List<CatalogEventDTO> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // serialized once, not once per subscriber
+        List<Message> messages = new ArrayList<>(events.size());
+        for (CatalogEventDTO event : events) {
+            try {
+                messages.add(new Message(CHANGE_EVENT, objectMapper.writeValueAsString(event)));
+            } catch (JsonProcessingException e) {
+                log.warn("Cannot serialize catalog event {}: {}", event, e.getMessage());
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            messages.forEach(message -> subscriber.offer(message, false));
+        }
+    }
+
+    /*
+     * An event name and its JSON data; both null for a heartbeat comment
+     */
+    private record Message(String name, String data) {
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // guarded by this
+        private final Queue<Message> buffer = new ArrayDeque<>();
+        private boolean draining;
+        // guarded by this; the sender thread in emitter.send and since when (System.nanoTime())
+        private Thread sending;
+        private long sendingSince;
+        // guarded by this; set by dropIfStalled
+        private boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /*
+         * Buffer a message and make sure a drain is scheduled; heartbeats (skippable) are not buffered over a full buffer
+         */
+        synchronized void offer(Message message, boolean skippable) {
+            if (dropped) {
+                return;
+            }
+            if (buffer.size() >= bufferSize) {
+                if (skippable) {
+                    return;
+                }
+                droppedEvents.increment(buffer.size());
+                buffer.clear();
+                buffer.add(new Message(RESYNC_EVENT, "{}"));
+                return;
+            }
+            buffer.add(message);
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            boolean dropped;
+            while (true) {
+                Message message;
+                synchronized (this) {
+                    message = this.dropped ? null : buffer.poll();
+                    if (message == null) {
+                        draining = false;
+                        dropped = this.dropped;
+                        break;
+                    }
+                    sending = Thread.currentThread();
+                    sendingSince = System.nanoTime();
+                }
+                try {
+                    emitter.send(message.toEvent());
+                } catch (IOException | IllegalStateException e) {
+                    // client gone, stream already completed, or the send interrupted by dropIfStalled
+                    remove(this);
+                    synchronized (this) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    return;
+                } finally {
+                    synchronized (this) {
+                        sending = null;
+                    }
+                    // an interrupt meant for this send must not reach the next subscriber's
+                    Thread.interrupted();
+                }
+            }
+            if (dropped) {
+                // the stalled send went through after all; close the stream so the client reconnects
+                emitter.complete();
+            }
+        }
+
+        /*
+         * Drop this subscriber if its current send has been blocked for longer than app.events.send-timeout, and
+         * interrupt the send so its thread goes back to the other subscribers; true when dropped.
+         * The emitter is not completed here: that waits for the blocked send.
+         */
+        synchronized boolean dropIfStalled(long now) {
+            if (sending == null || now - sendingSince < sendTimeout.toNanos()) {
+                return false;
+            }
+            log.warn("Dropping catalog event subscriber blocked in a send for over {}", sendTimeout);
+            stalledSubscribers.increment();
+            dropped = true;
+            remove(this);
+            buffer.clear();
+            sending.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogEventDTO;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Write side of the catalog outbox: catalog writes append their changes to catalog_changes in their own
+ * transaction, so a change is published (by CatalogChangeRelay) if and only if the write commits.
+ * Rows go in with one JDBC batch, without entities in the persistence context. The same changes are pushed to
+ * event stream subscribers once committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogOutbox {
+
+    private static final String INSERT_CHANGE =
+            "INSERT INTO catalog_changes (entity_type, entity_id, change_type, payload, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CatalogEventBroadcaster catalogEventBroadcaster;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CatalogEntityType entityType, Long entityId, ChangeType changeType, Object payload) {
+        recordAll(List.of(new CatalogEventDTO(entityType, entityId, changeType, payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<CatalogEventDTO> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, changes.stream()
+                .map(change -> new Object[]{change.entityType().name(), change.entityId(), change.changeType().name(),
+                        toJson(change.payload()), now})
+                .toList());
+        catalogEventBroadcaster.publish(changes);
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize change payload " + payload, e);
+        }
+    }
+}
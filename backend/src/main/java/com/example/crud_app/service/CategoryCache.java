@@ -0,0 +1,163 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.config.ReplicaRoutingDataSource;
+import com.example.crud_app.dto.CacheStatsDTO;
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.mapper.CategoryMapper;
+import com.example.crud_app.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * Read-through cache of categories by id and by name, plus the paged category listing.
+ * Only immutable CategoryDTOs (by id, together with the row version) are cached;
+ * callers needing an entity get a fresh detached copy.
+ * Entries are bounded by app.cache.categories.max-size and expire after app.cache.categories.ttl,
+ * and writes in CategoryServiceImpl invalidate them both immediately and once their transaction completes.
+ * Misses are loaded outside the cache (getIfPresent, then put) rather than through Cache.get(key, loader):
+ * the loader would run its query inside ConcurrentHashMap.compute, whose monitor pins a virtual thread
+ * for the whole database round trip. Every eviction bumps a generation, and a loaded value is dropped again when
+ * an eviction ran while it was being loaded, so a read that started before a commit cannot re-cache the old state.
+ * With replica routing, misses are loaded from the primary: an entry cached from a lagging replica would outlive
+ * the write it missed for the whole TTL. Callers look the cache up before their transaction's first query, so the
+ * load is the one that takes the connection.
+ */
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final Cache<Long, Entry> byId;
+    private final Cache<String, CategoryDTO> byName;
+    private final Cache<Pageable, Page<CategoryDTO>> pages;
+    // bumped by every eviction
+    private final AtomicLong generation = new AtomicLong();
+
+    public CategoryCache(CategoryRepository categoryRepository,
+                         CategoryMapper categoryMapper,
+                         @Value("${app.cache.categories.max-size:1000}") long maxSize,
+                         @Value("${app.cache.categories.ttl:10m}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+        this.byId = newCache(maxSize, ttl);
+        this.byName = newCache(maxSize, ttl);
+        this.pages = newCache(maxSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /*
+     * Category by id; a missing category is not cached
+     */
+    public Optional<CategoryDTO> findDTOById(Long id) {
+        return findEntry(id).map(Entry::dto);
+    }
+
+    /*
+     * Category by name; a missing category is not cached
+     */
+    public Optional<CategoryDTO> findDTOByName(String name) {
+        return readThrough(byName, name, key -> categoryRepository.findByName(key).map(categoryMapper::toDTO));
+    }
+
+    /*
+     * Detached copy of a category, without its products, usable as a product's category reference.
+     * It carries the version, without which Hibernate would take the reference for a transient category.
+     */
+    public Optional<Category> findById(Long id) {
+        return findEntry(id).map(entry -> Category.builder()
+                .id(entry.dto().id())
+                .name(entry.dto().name())
+                .description(entry.dto().description())
+                .version(entry.version())
+                .build());
+    }
+
+    private Optional<Entry> findEntry(Long id) {
+        return readThrough(byId, id, key -> categoryRepository.findById(key)
+                .map(category -> new Entry(categoryMapper.toDTO(category), category.getVersion())));
+    }
+
+    public Page<CategoryDTO> getPage(Pageable pageable, Function<Pageable, Page<CategoryDTO>> loader) {
+        return readThrough(pages, pageable, key -> Optional.of(loader.apply(key))).orElseThrow();
+    }
+
+    private <K, V> Optional<V> readThrough(Cache<K, V> cache, K key, Function<K, Optional<V>> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadedAt = generation.get();
+        Optional<V> loaded = ReplicaRoutingDataSource.onPrimary(() -> loader.apply(key));
+        loaded.ifPresent(value -> {
+            cache.put(key, value);
+            // checked after the put: an eviction before it is seen here, one after it removed the value itself
+            if (generation.get() != loadedAt) {
+                cache.invalidate(key);
+            }
+        });
+        return loaded;
+    }
+
+    /*
+     * Drop a category and every listing page, now and again when the current transaction completes,
+     * so a concurrent read cannot re-cache the state from before the commit
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private void evict(Long id) {
+        generation.incrementAndGet();
+        if (id != null) {
+            byId.invalidate(id);
+            byName.asMap().values().removeIf(dto -> dto.id().equals(id));
+        }
+        pages.invalidateAll();
+    }
+
+    public Map<String, CacheStatsDTO> stats() {
+        Map<String, CacheStatsDTO> stats = new LinkedHashMap<>();
+        stats.put("byId", toDTO(byId));
+        stats.put("byName", toDTO(byName));
+        stats.put("pages", toDTO(pages));
+        return stats;
+    }
+
+    private static CacheStatsDTO toDTO(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), cache.estimatedSize());
+    }
+
+    private record Entry(CategoryDTO dto, Long version) {}
+}
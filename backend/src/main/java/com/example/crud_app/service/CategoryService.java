@@ -1,14 +1,19 @@
 package com.example.crud_app.service;
 
+import com.example.crud_app.dto.CacheStatsDTO;
 import com.example.crud_app.dto.CategoryCreateDTO;
 import com.example.crud_app.dto.CategoryDTO;
 import com.example.crud_app.dto.CategoryUpdateDTO;
-import com.example.crud_app.dto.CategoryWithProductsDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.Versioned;
+import com.example.crud_app.dto.CategoryWithProductsPageDTO;
 import com.example.crud_app.entity.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 public interface CategoryService {
     /*
      * Retrieve all categories with pagination
@@ -23,9 +28,24 @@ public interface CategoryService {
     CategoryDTO getCategoryById(Long id);
 
     /*
-     * Get category with all its associated products
+     * Get single category by ID with its version tag, mapping it only when the body is requested
+     */
+    Versioned<CategoryDTO> getVersionedCategoryById(Long id);
+
+    /*
+     * Get single category by name
      */
-    CategoryWithProductsDTO getCategoryWithProducts(Long id);
+    CategoryDTO getCategoryByName(String name);
+
+    /*
+     * Get single category by ID, failing with CategoryNotFoundException when it does not exist
+     */
+    CategoryDTO findCategoryDTOById(Long id);
+
+    /*
+     * Get category with one keyset-paginated slice of its associated products
+     */
+    CategoryWithProductsPageDTO getCategoryWithProducts(Long id, String cursor, int size, String sort);
 
     /*
      * Create a new category
@@ -50,4 +70,24 @@ public interface CategoryService {
      */
     Page<CategoryDTO> searchProduct(String name, Pageable pageable);
 
+    /*
+     * Name search ranked by relevance
+     */
+    Page<CategoryDTO> searchCategoryRanked(String name, Pageable pageable);
+
+    /*
+     * Hit/miss/eviction counters of the category cache
+     */
+    Map<String, CacheStatsDTO> getCacheStats();
+
+    /*
+     * Retrieve all categories with keyset pagination
+     */
+    CursorPage<CategoryDTO> scrollCategories(String cursor, int size, String sort);
+
+    /*
+     * Flexible search with keyset pagination
+     */
+    CursorPage<CategoryDTO> scrollSearchCategories(String name, String cursor, int size, String sort);
+
 }
@@ -2,33 +2,60 @@ package com.example.crud_app.service;
 
 import com.example.crud_app.dto.*;
 import com.example.crud_app.entity.Category;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
 import com.example.crud_app.exception.CategoryNotFoundException;
 import com.example.crud_app.exception.DuplicateCategoryNameException;
 import com.example.crud_app.mapper.CategoryMapper;
 import com.example.crud_app.repository.CategoryRepository;
+import com.example.crud_app.repository.CategorySpecifications;
+import com.example.crud_app.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class CategoryServiceImpl implements CategoryService {
 
+    // sort keys allowed for keyset pagination, with the parser for their cursor value
+    private static final Map<String, Function<String, Object>> SCROLL_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "name", value -> value
+    );
+
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryCache categoryCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductPriceSummary productPriceSummary;
+    private final ProductService productService;
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final CatalogOutbox catalogOutbox;
+
+    // pg_trgm similarity search, enabled on PostgreSQL (prod)
+    @Value("${app.search.trigram:false}")
+    private boolean trigramSearch;
 
     /*
      * Retrieve all categories with pagination
      */
     @Override
     public Page<CategoryDTO> getAllCategories(Pageable pageable){
-        return categoryRepository.findAll(pageable)
-                .map(categoryMapper::toDTO);
+        return categoryCache.getPage(pageable, page -> categoryRepository.findAll(page)
+                .map(categoryMapper::toDTO));
     }
 
     @Override
@@ -42,17 +69,48 @@ public class CategoryServiceImpl implements CategoryService {
      */
     @Override
     public CategoryDTO getCategoryById(Long id){
-        Category category = findCategoryById(id);
-        return categoryMapper.toDTO(category);
+        return categoryCache.findDTOById(id)
+                .orElseThrow(() -> new ConcurrentModificationException("Category not found with id:" + id));
     }
 
     /*
-     * Get category with all its associated products
+     * Get single category by ID with its version tag, both served from the category cache
      */
     @Override
-    public CategoryWithProductsDTO getCategoryWithProducts(Long id){
-        Category category = findCategoryById(id);
-        return categoryMapper.toDTOWithProducts(category);
+    public Versioned<CategoryDTO> getVersionedCategoryById(Long id){
+        Category category = categoryCache.findById(id)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id:" + id));
+        return new Versioned<>(String.valueOf(category.getVersion()), () -> categoryMapper.toDTO(category));
+    }
+
+    /*
+     * Get single category by name
+     */
+    @Override
+    public CategoryDTO getCategoryByName(String name){
+        return categoryCache.findDTOByName(name)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found with name:" + name));
+    }
+
+    /*
+     * Get single category by ID, failing with CategoryNotFoundException when it does not exist
+     */
+    @Override
+    public CategoryDTO findCategoryDTOById(Long id){
+        return categoryCache.findDTOById(id)
+                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id:" + id));
+    }
+
+    /*
+     * Get category with one slice of its products.
+     * The products come from a keyset query on the product table, never from the category's
+     * products collection, so the response size is bounded by the page size and not the category size.
+     */
+    @Override
+    public CategoryWithProductsPageDTO getCategoryWithProducts(Long id, String cursor, int size, String sort){
+        CategoryDTO category = findCategoryDTOById(id);
+        CursorPage<ProductDTO> products = productService.scrollProductsByCategory(id, cursor, size, sort);
+        return new CategoryWithProductsPageDTO(category.id(), category.name(), category.description(), products);
     }
 
     /*
@@ -64,7 +122,11 @@ public class CategoryServiceImpl implements CategoryService {
         validateCategoryName(createDTO.name(), null);
         Category category = categoryMapper.toEntity(createDTO);
         Category savedCategory = categoryRepository.save(category);
-        return categoryMapper.toDTO(savedCategory);
+        categoryCache.invalidate(savedCategory.getId());
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.CATEGORIES);
+        CategoryDTO categoryDTO = categoryMapper.toDTO(savedCategory);
+        catalogOutbox.record(CatalogEntityType.CATEGORY, categoryDTO.id(), ChangeType.CREATED, categoryDTO);
+        return categoryDTO;
     }
 
     /*
@@ -77,7 +139,12 @@ public class CategoryServiceImpl implements CategoryService {
         validateCategoryName(updateDTO.name(), id);
         categoryMapper.updateEntity(category, updateDTO);
         Category saveCategory = categoryRepository.save(category);
-        return categoryMapper.toDTO(saveCategory);
+        categoryCache.invalidate(id);
+        productSearchIndex.renameCategory(id, saveCategory.getName());
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.CATEGORIES);
+        CategoryDTO categoryDTO = categoryMapper.toDTO(saveCategory);
+        catalogOutbox.record(CatalogEntityType.CATEGORY, id, ChangeType.UPDATED, categoryDTO);
+        return categoryDTO;
     }
 
     /*
@@ -90,6 +157,11 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryNotFoundException("Category not found with id:" + id);
         }
         categoryRepository.deleteById(id);
+        categoryCache.invalidate(id);
+        productSearchIndex.removeCategory(id);
+        productPriceSummary.removeCategory(id);
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.CATEGORIES, CatalogChangeCounter.Table.PRODUCTS);
+        catalogOutbox.record(CatalogEntityType.CATEGORY, id, ChangeType.DELETED, null);
     }
 
     /*
@@ -111,4 +183,52 @@ public class CategoryServiceImpl implements CategoryService {
     public Page<CategoryDTO> searchProduct(String name, Pageable pageable){
         return categoryRepository.searchCategory(name,pageable ).map(categoryMapper::toDTO);
     }
+
+    /*
+     * Name search ranked by relevance; the pageable's sort is dropped in favour of the rank
+     */
+    @Override
+    public Page<CategoryDTO> searchCategoryRanked(String name, Pageable pageable){
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Category> results = trigramSearch
+                ? categoryRepository.searchRankedTrigram(name, page)
+                : categoryRepository.searchRanked(name, page);
+        return results.map(categoryMapper::toDTO);
+    }
+
+    /*
+     * Hit/miss/eviction counters of the category cache
+     */
+    @Override
+    public Map<String, CacheStatsDTO> getCacheStats(){
+        return categoryCache.stats();
+    }
+
+    /*
+     * Retrieve all categories with keyset pagination
+     */
+    @Override
+    public CursorPage<CategoryDTO> scrollCategories(String cursor, int size, String sort){
+        return scroll(Specification.allOf(), cursor, size, sort);
+    }
+
+    /*
+     * Flexible search with keyset pagination
+     */
+    @Override
+    public CursorPage<CategoryDTO> scrollSearchCategories(String name, String cursor, int size, String sort){
+        return scroll(CategorySpecifications.nameContains(name), cursor, size, sort);
+    }
+
+    /*
+     * Fetch the slice after the cursor: one range query on (sort, id), no count query
+     */
+    private CursorPage<CategoryDTO> scroll(Specification<Category> spec, String cursor, int size, String sort){
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sort, SCROLL_SORT_KEYS);
+        Window<Category> window = categoryRepository.findBy(spec, query -> query
+                .sortBy(KeysetCursor.sort(sort))
+                .limit(KeysetCursor.clampSize(size))
+                .scroll(position));
+        return KeysetCursor.toPage(window, sort, categoryMapper::toDTO);
+    }
 }
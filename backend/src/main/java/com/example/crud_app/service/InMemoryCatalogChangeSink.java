@@ -0,0 +1,40 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogChangeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * Keeps the last app.outbox.sink.max-size published changes in memory, for development and tests
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink.type", havingValue = "memory")
+public class InMemoryCatalogChangeSink implements CatalogChangeSink {
+
+    private final int maxSize;
+    private final Deque<CatalogChangeDTO> changes = new ArrayDeque<>();
+
+    public InMemoryCatalogChangeSink(@Value("${app.outbox.sink.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized void publish(List<CatalogChangeDTO> published) {
+        for (CatalogChangeDTO change : published) {
+            if (changes.size() == maxSize) {
+                changes.removeFirst();
+            }
+            changes.addLast(change);
+        }
+    }
+
+    public synchronized List<CatalogChangeDTO> published() {
+        return new ArrayList<>(changes);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogChangeDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/*
+ * Appends each change as one JSON line to app.outbox.sink.file, for a log shipper to forward
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink.type", havingValue = "log", matchIfMissing = true)
+public class LogFileCatalogChangeSink implements CatalogChangeSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public LogFileCatalogChangeSink(ObjectMapper objectMapper,
+                                    @Value("${app.outbox.sink.file:logs/catalog-changes.jsonl}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<CatalogChangeDTO> changes) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (CatalogChangeDTO change : changes) {
+                    writer.write(objectMapper.writeValueAsString(change));
+                    writer.newLine();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize catalog change", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append catalog changes to " + file, e);
+        }
+    }
+}
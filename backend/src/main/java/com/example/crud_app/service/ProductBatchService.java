@@ -0,0 +1,14 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ProductBatchOperation;
+import com.example.crud_app.dto.ProductBatchReport;
+
+import java.util.List;
+
+public interface ProductBatchService {
+
+    /*
+     * Validate a list of create/update/delete operations and apply the valid ones in one transaction
+     */
+    ProductBatchReport applyOperations(List<ProductBatchOperation> operations);
+}
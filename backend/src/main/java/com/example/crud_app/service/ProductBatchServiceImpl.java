@@ -0,0 +1,312 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogEventDTO;
+import com.example.crud_app.dto.ProductBatchOperation;
+import com.example.crud_app.dto.ProductBatchOperationResult;
+import com.example.crud_app.dto.ProductBatchReport;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.enums.BatchOperationType;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.exception.BatchTooLargeException;
+import com.example.crud_app.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Batch product writes.
+ * All operations are validated up front against two set-based queries (the rows being updated or deleted, and the
+ * current owners of every name being written) instead of per-operation lookups; the valid ones are then applied as
+ * one JDBC batch per statement kind, deletes first so the names they free can be reused, all in one transaction.
+ * Invalid operations are reported and skipped; if the database rejects the batch, nothing is applied.
+ * The search index, price summary and change outbox are updated from the validated values, without reading the rows back.
+ * A rename does not free the old name within the same batch.
+ */
+@Slf4j
+@Service
+public class ProductBatchServiceImpl implements ProductBatchService {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (name, price, category_id) VALUES (?, ?, ?)";
+    private static final String UPDATE_PRODUCT =
+            "UPDATE products SET name = ?, price = ?, category_id = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE_PRODUCT = "DELETE FROM products WHERE id = ?";
+
+    private final ProductRepository productRepository;
+    private final CategoryCache categoryCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final ProductPriceSummary productPriceSummary;
+    private final CatalogOutbox catalogOutbox;
+    private final int maxOperations;
+
+    public ProductBatchServiceImpl(ProductRepository productRepository,
+                                   CategoryCache categoryCache,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ProductSearchIndex productSearchIndex,
+                                   CatalogChangeCounter catalogChangeCounter,
+                                   ProductPriceSummary productPriceSummary,
+                                   CatalogOutbox catalogOutbox,
+                                   @Value("${app.products.batch.max-operations:5000}") int maxOperations) {
+        this.productRepository = productRepository;
+        this.categoryCache = categoryCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogChangeCounter = catalogChangeCounter;
+        this.productPriceSummary = productPriceSummary;
+        this.catalogOutbox = catalogOutbox;
+        this.maxOperations = maxOperations;
+    }
+
+    @Override
+    public ProductBatchReport applyOperations(List<ProductBatchOperation> operations) {
+        if (operations.size() > maxOperations) {
+            throw new BatchTooLargeException("At most " + maxOperations + " operations can be applied at once, got "
+                    + operations.size());
+        }
+        try {
+            return transactionTemplate.execute(status -> apply(operations));
+        } catch (DataAccessException e) {
+            String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+            log.warn("Product batch of {} operations failed: {}", operations.size(), e.getMostSpecificCause().getMessage());
+            List<ProductBatchOperationResult> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(new ProductBatchOperationResult(i, operations.get(i).op(), operations.get(i).id(), false, message));
+            }
+            return new ProductBatchReport(0, operations.size(), results);
+        }
+    }
+
+    private ProductBatchReport apply(List<ProductBatchOperation> operations) {
+        Map<Long, Product> existing = loadTargets(operations);
+        Map<String, Long> nameOwners = loadNameOwners(operations);
+
+        ProductBatchOperationResult[] results = new ProductBatchOperationResult[operations.size()];
+        Set<Long> targeted = new HashSet<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ProductBatchOperation operation = operations.get(i);
+            if (operation.op() != BatchOperationType.DELETE) {
+                continue;
+            }
+            try {
+                Product product = target(operation, existing, targeted);
+                deletedIds.add(product.getId());
+                results[i] = new ProductBatchOperationResult(i, operation.op(), product.getId(), true, null);
+            } catch (IllegalArgumentException e) {
+                results[i] = new ProductBatchOperationResult(i, operation.op(), operation.id(), false, e.getMessage());
+            }
+        }
+
+        Set<Long> deleted = new HashSet<>(deletedIds);
+        Set<String> claimed = new HashSet<>();
+        List<ProductDTO> updated = new ArrayList<>();
+        Map<Integer, ProductDTO> created = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ProductBatchOperation operation = operations.get(i);
+            if (operation.op() == BatchOperationType.DELETE) {
+                continue;
+            }
+            try {
+                if (operation.op() == BatchOperationType.CREATE) {
+                    created.put(i, validateCreate(operation, nameOwners, deleted, claimed));
+                } else if (operation.op() == BatchOperationType.UPDATE) {
+                    ProductDTO product = validateUpdate(operation, existing, targeted, nameOwners, deleted, claimed);
+                    updated.add(product);
+                    results[i] = new ProductBatchOperationResult(i, operation.op(), product.id(), true, null);
+                } else {
+                    throw new IllegalArgumentException("Operation type is required, one of "
+                            + Arrays.toString(BatchOperationType.values()));
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = new ProductBatchOperationResult(i, operation.op(), operation.id(), false, e.getMessage());
+            }
+        }
+
+        if (!deletedIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_PRODUCT, deletedIds.stream().map(id -> new Object[]{id}).toList());
+        }
+        if (!updated.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PRODUCT, updated.stream()
+                    .map(product -> new Object[]{product.name(), product.price(), product.categoryId(), product.id()})
+                    .toList());
+        }
+        Map<String, Long> createdIds = created.isEmpty() ? Map.of() : insert(created.values());
+
+        List<ProductDTO> written = new ArrayList<>(updated);
+        created.forEach((i, product) -> {
+            Long id = createdIds.get(product.name());
+            results[i] = new ProductBatchOperationResult(i, operations.get(i).op(), id, true, null);
+            written.add(new ProductDTO(id, product.name(), product.price(), product.categoryId(), product.categoryName()));
+        });
+
+        int applied = deletedIds.size() + written.size();
+        if (applied > 0) {
+            deletedIds.forEach(productSearchIndex::remove);
+            written.forEach(productSearchIndex::put);
+            deletedIds.forEach(productPriceSummary::remove);
+            written.forEach(product -> productPriceSummary.put(product.id(), product.categoryId(), product.price()));
+            catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+            List<CatalogEventDTO> changes = new ArrayList<>(applied);
+            for (Long id : deletedIds) {
+                changes.add(new CatalogEventDTO(CatalogEntityType.PRODUCT, id, ChangeType.DELETED, null));
+            }
+            for (ProductDTO product : written) {
+                ChangeType type = existing.containsKey(product.id()) ? ChangeType.UPDATED : ChangeType.CREATED;
+                changes.add(new CatalogEventDTO(CatalogEntityType.PRODUCT, product.id(), type, product));
+            }
+            catalogOutbox.recordAll(changes);
+        }
+        log.info("Product batch finished: {} operations, {} applied, {} failed",
+                operations.size(), applied, operations.size() - applied);
+        return new ProductBatchReport(applied, operations.size() - applied, Arrays.asList(results));
+    }
+
+    /*
+     * Rows targeted by updates and deletes, with their categories, in one IN query
+     */
+    private Map<Long, Product> loadTargets(List<ProductBatchOperation> operations) {
+        Set<Long> ids = new HashSet<>();
+        for (ProductBatchOperation operation : operations) {
+            if (operation.op() != BatchOperationType.CREATE && operation.id() != null) {
+                ids.add(operation.id());
+            }
+        }
+        Map<Long, Product> products = new HashMap<>();
+        if (!ids.isEmpty()) {
+            productRepository.findByIdIn(ids).forEach(product -> products.put(product.getId(), product));
+        }
+        return products;
+    }
+
+    /*
+     * Id of the product currently holding each name written by the batch, in one IN query
+     */
+    private Map<String, Long> loadNameOwners(List<ProductBatchOperation> operations) {
+        Set<String> names = new HashSet<>();
+        for (ProductBatchOperation operation : operations) {
+            if (operation.op() != BatchOperationType.DELETE && operation.name() != null) {
+                names.add(operation.name());
+            }
+        }
+        Map<String, Long> owners = new HashMap<>();
+        if (!names.isEmpty()) {
+            productRepository.findByNameIn(names).forEach(product -> owners.put(product.getName(), product.getId()));
+        }
+        return owners;
+    }
+
+    /*
+     * Insert the new products in one JDBC batch and read back their generated ids by name
+     */
+    private Map<String, Long> insert(Iterable<ProductDTO> products) {
+        List<Object[]> rows = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ProductDTO product : products) {
+            rows.add(new Object[]{product.name(), product.price(), product.categoryId()});
+            names.add(product.name());
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows);
+        Map<String, Long> ids = new HashMap<>();
+        productRepository.findByNameIn(names).forEach(product -> ids.put(product.getName(), product.getId()));
+        return ids;
+    }
+
+    private ProductDTO validateCreate(ProductBatchOperation operation, Map<String, Long> nameOwners,
+                                      Set<Long> deleted, Set<String> claimed) {
+        if (operation.id() != null) {
+            throw new IllegalArgumentException("Id must not be set on CREATE");
+        }
+        if (operation.name() == null || operation.price() == null || operation.categoryId() == null) {
+            throw new IllegalArgumentException("CREATE requires name, price and categoryId");
+        }
+        String name = checkName(operation.name());
+        BigDecimal price = checkPrice(operation.price());
+        Category category = findCategory(operation.categoryId());
+        claimName(name, null, nameOwners, deleted, claimed);
+        return new ProductDTO(null, name, price, category.getId(), category.getName());
+    }
+
+    /*
+     * Merge the fields set on the operation into the current row
+     */
+    private ProductDTO validateUpdate(ProductBatchOperation operation, Map<Long, Product> existing, Set<Long> targeted,
+                                      Map<String, Long> nameOwners, Set<Long> deleted, Set<String> claimed) {
+        Product current = target(operation, existing, targeted);
+        String name = operation.name() != null ? checkName(operation.name()) : current.getName();
+        BigDecimal price = operation.price() != null ? checkPrice(operation.price()) : current.getPrice();
+        Category category = operation.categoryId() != null ? findCategory(operation.categoryId()) : current.getCategory();
+        claimName(name, current.getId(), nameOwners, deleted, claimed);
+        return new ProductDTO(current.getId(), name, price, category.getId(), category.getName());
+    }
+
+    /*
+     * Existing row an update or delete applies to; each product may be targeted once per batch
+     */
+    private static Product target(ProductBatchOperation operation, Map<Long, Product> existing, Set<Long> targeted) {
+        if (operation.id() == null) {
+            throw new IllegalArgumentException(operation.op() + " requires id");
+        }
+        Product product = existing.get(operation.id());
+        if (product == null) {
+            throw new IllegalArgumentException("Product not found with id:" + operation.id());
+        }
+        if (!targeted.add(operation.id())) {
+            throw new IllegalArgumentException("Product " + operation.id() + " is targeted by more than one operation");
+        }
+        return product;
+    }
+
+    private static String checkName(String name) {
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        return name;
+    }
+
+    private static BigDecimal checkPrice(BigDecimal price) {
+        if (price.signum() < 0 || price.scale() > 2 || price.compareTo(ProductImportServiceImpl.MAX_PRICE) > 0) {
+            throw new IllegalArgumentException("Price must be between 0 and " + ProductImportServiceImpl.MAX_PRICE
+                    + " with at most 2 decimals");
+        }
+        return price;
+    }
+
+    private Category findCategory(Long categoryId) {
+        return categoryCache.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with id:" + categoryId));
+    }
+
+    /*
+     * A name is free if no product holds it, the product holding it is the one being updated or is deleted
+     * in this batch, and no earlier operation of the batch claimed it
+     */
+    private static void claimName(String name, Long productId, Map<String, Long> nameOwners,
+                                  Set<Long> deleted, Set<String> claimed) {
+        Long owner = nameOwners.get(name);
+        if (owner != null && !owner.equals(productId) && !deleted.contains(owner)) {
+            throw new IllegalArgumentException("Product with name'" + name + "' already exists");
+        }
+        if (!claimed.add(name)) {
+            throw new IllegalArgumentException("Product name '" + name + "' is used more than once in this batch");
+        }
+    }
+}
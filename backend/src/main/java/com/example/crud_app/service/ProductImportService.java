@@ -0,0 +1,14 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ProductImportReport;
+import com.example.crud_app.dto.ProductImportRow;
+
+import java.util.Iterator;
+
+public interface ProductImportService {
+
+    /*
+     * Validate and insert products in JDBC batches, reporting every rejected row
+     */
+    ProductImportReport importProducts(Iterator<ProductImportRow> rows);
+}
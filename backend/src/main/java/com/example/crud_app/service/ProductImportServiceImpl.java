@@ -0,0 +1,230 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ProductImportBatchDTO;
+import com.example.crud_app.dto.ProductImportError;
+import com.example.crud_app.dto.ProductImportReport;
+import com.example.crud_app.dto.ProductImportRow;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.repository.CategoryRepository;
+import com.example.crud_app.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Bulk product import.
+ * Name uniqueness and category existence are checked against sets loaded once up front instead of
+ * two queries per row, and valid rows are inserted with JDBC batches of app.import.batch-size.
+ * Each batch commits in its own transaction, so no connection is held while the upload is being read; a batch the
+ * database rejects is retried row by row, so only the offending rows fail. A name is taken once its row commits.
+ * Rows inserted over JDBC bypass ProductServiceImpl, so the search index and price summary are rebuilt and the products change counter
+ * bumped once the import is done. Each committed batch appends one IMPORTED change to the outbox in its transaction,
+ * so change feed consumers know to reload the products.
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    // products.price is numeric(6,2)
+    static final BigDecimal MAX_PRICE = new BigDecimal("9999.99");
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (name, price, category_id) VALUES (?, ?, ?)";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final ProductPriceSummary productPriceSummary;
+    private final CatalogOutbox catalogOutbox;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    CategoryRepository categoryRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    ProductSearchIndex productSearchIndex,
+                                    CatalogChangeCounter catalogChangeCounter,
+                                    ProductPriceSummary productPriceSummary,
+                                    CatalogOutbox catalogOutbox,
+                                    @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogChangeCounter = catalogChangeCounter;
+        this.productPriceSummary = productPriceSummary;
+        this.catalogOutbox = catalogOutbox;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ProductImportReport importProducts(Iterator<ProductImportRow> rows) {
+        Set<String> names = new HashSet<>(productRepository.findAllNames());
+        Set<Long> categoryIds = new HashSet<>();
+        Map<String, Long> categoryIdsByName = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.add(category.getId());
+            categoryIdsByName.put(category.getName(), category.getId());
+        }
+
+        List<ProductImportError> errors = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        List<ProductImportRow> batchRows = new ArrayList<>(batchSize);
+        Set<String> batchNames = new HashSet<>();
+        long processed = 0;
+        long imported = 0;
+        long failed = 0;
+
+        while (rows.hasNext()) {
+            ProductImportRow row = rows.next();
+            processed++;
+            try {
+                Object[] params = validate(row, names, batchNames, categoryIds, categoryIdsByName);
+                batchNames.add(row.name());
+                batch.add(params);
+                batchRows.add(row);
+            } catch (IllegalArgumentException e) {
+                failed++;
+                report(errors, row, e.getMessage());
+            }
+
+            if (batch.size() >= batchSize) {
+                long inserted = flush(batch, batchRows, names, errors);
+                imported += inserted;
+                failed += batchRows.size() - inserted;
+                batch.clear();
+                batchRows.clear();
+                batchNames.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            long inserted = flush(batch, batchRows, names, errors);
+            imported += inserted;
+            failed += batchRows.size() - inserted;
+        }
+
+        if (imported > 0) {
+            productSearchIndex.rebuild();
+            productPriceSummary.rebuild();
+            catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+        }
+        log.info("Product import finished: {} processed, {} imported, {} failed", processed, imported, failed);
+        return new ProductImportReport(processed, imported, failed, errors);
+    }
+
+    /*
+     * Convert a row to insert parameters, or reject it with the reason; names are those committed and those
+     * of the batch being built
+     */
+    private Object[] validate(ProductImportRow row, Set<String> names, Set<String> batchNames,
+                              Set<Long> categoryIds, Map<String, Long> categoryIdsByName) {
+        if (row.parseError() != null) {
+            throw new IllegalArgumentException(row.parseError());
+        }
+        if (row.name() == null || row.name().isBlank()) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (names.contains(row.name()) || batchNames.contains(row.name())) {
+            throw new IllegalArgumentException("Product with name'" + row.name() + "' already exists");
+        }
+
+        if (row.price() == null) {
+            throw new IllegalArgumentException("Price is required");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(row.price().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price '" + row.price() + "'");
+        }
+        if (price.signum() < 0 || price.scale() > 2 || price.compareTo(MAX_PRICE) > 0) {
+            throw new IllegalArgumentException("Price must be between 0 and " + MAX_PRICE + " with at most 2 decimals");
+        }
+
+        Long categoryId;
+        if (row.categoryId() != null) {
+            try {
+                categoryId = Long.valueOf(row.categoryId().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid category id '" + row.categoryId() + "'");
+            }
+            if (!categoryIds.contains(categoryId)) {
+                throw new IllegalArgumentException("Category not found with id:" + categoryId);
+            }
+        } else if (row.categoryName() != null) {
+            categoryId = categoryIdsByName.get(row.categoryName());
+            if (categoryId == null) {
+                throw new IllegalArgumentException("Category not found with name:" + row.categoryName());
+            }
+        } else {
+            throw new IllegalArgumentException("Category is required");
+        }
+
+        return new Object[]{row.name(), price, categoryId};
+    }
+
+    /*
+     * Insert one batch in its own transaction; if the database rejects it, insert its rows one by one, each in its
+     * own transaction, and report the rows that still fail. Names of inserted rows are added to names.
+     */
+    private long flush(List<Object[]> batch, List<ProductImportRow> batchRows, Set<String> names,
+                       List<ProductImportError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch);
+                recordImported(batch.size());
+            });
+            batchRows.forEach(row -> names.add(row.name()));
+            return batch.size();
+        } catch (DataAccessException e) {
+            log.warn("Product import batch of {} rows failed, retrying row by row: {}", batch.size(),
+                    e.getMostSpecificCause().getMessage());
+        }
+
+        long inserted = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Object[] params = batch.get(i);
+            ProductImportRow row = batchRows.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update(INSERT_PRODUCT, params);
+                    recordImported(1);
+                });
+                names.add(row.name());
+                inserted++;
+            } catch (DataAccessException e) {
+                report(errors, row, "Insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    private void recordImported(int imported) {
+        catalogOutbox.record(CatalogEntityType.PRODUCT, 0L, ChangeType.IMPORTED, new ProductImportBatchDTO(imported));
+    }
+
+    private static void report(List<ProductImportError> errors, ProductImportRow row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ProductImportError(row.line(), row.name(), message));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CategoryPriceStatsDTO;
+import com.example.crud_app.dto.PriceBucketDTO;
+import com.example.crud_app.dto.ProductPriceView;
+import com.example.crud_app.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/*
+ * In-memory price summary of the catalog, enabled with app.products.stats.summary.enabled.
+ * Per category it keeps the number of products at each distinct price and their running total, so count, min, max,
+ * average and histograms are computed from one entry per distinct price instead of from the products.
+ * Built with a single query once the application is ready and kept current by the product and category writes,
+ * each applied after its transaction commits. Until the first build completes, stats() answers empty and callers
+ * fall back to GROUP BY queries.
+ * The category and price of every product are kept too, so writes set or clear a product rather than adjust counts:
+ * a write committed while a rebuild is reading is replayed onto the new summary, and setting a product the snapshot
+ * already holds, or clearing one it lacks, changes nothing instead of counting it twice.
+ */
+@Slf4j
+@Component
+public class ProductPriceSummary {
+
+    // products.price is numeric(6,2); prices are normalised to it so 5.5 and 5.50 are one entry
+    private static final int PRICE_SCALE = 2;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    // guarded by lock; null until the first build completes
+    private Summary summary;
+    // guarded by lock; updates committed while a rebuild is running, replayed onto the new summary
+    private List<Consumer<Summary>> pending;
+
+    public ProductPriceSummary(ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.products.stats.summary.enabled:true}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /*
+     * Reload the summary from the database and swap it in; stats keep using the previous one while it loads
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Summary fresh = new Summary();
+        rebuildLock.lock();
+        try {
+            withWriteLock(() -> pending = new ArrayList<>());
+            List<ProductPriceView> rows = readOnlyTransaction.execute(status -> productRepository.findAllPrices());
+            for (ProductPriceView row : rows) {
+                fresh.put(row.getId(), row.getCategoryId(), row.getPrice());
+            }
+            withWriteLock(() -> {
+                // in commit order, so each product ends up as its last write left it
+                pending.forEach(update -> update.accept(fresh));
+                summary = fresh;
+            });
+        } finally {
+            withWriteLock(() -> pending = null);
+            rebuildLock.unlock();
+        }
+        log.info("Product price summary built: {} categories, {} distinct prices in {} ms", fresh.categories.size(),
+                fresh.categories.values().stream().mapToInt(prices -> prices.counts.size()).sum(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * Price stats of one category, or of every category with products in id order.
+     * Empty when the summary is disabled or not built yet.
+     */
+    public Optional<List<CategoryPriceStatsDTO>> stats(Long categoryId, int buckets) {
+        lock.readLock().lock();
+        try {
+            if (summary == null) {
+                return Optional.empty();
+            }
+            NavigableMap<Long, CategoryPrices> categories = summary.categories;
+            List<CategoryPriceStatsDTO> stats = new ArrayList<>();
+            if (categoryId == null) {
+                categories.forEach((id, prices) -> stats.add(prices.toStats(id, buckets)));
+            } else if (categories.containsKey(categoryId)) {
+                stats.add(categories.get(categoryId).toStats(categoryId, buckets));
+            }
+            return Optional.of(stats);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Set the category and price of a created or updated product once the current transaction commits
+     */
+    public void put(Long productId, Long categoryId, BigDecimal price) {
+        afterCommit(summary -> summary.put(productId, categoryId, price));
+    }
+
+    public void remove(Long productId) {
+        afterCommit(summary -> summary.remove(productId));
+    }
+
+    /*
+     * Deleting a category cascades to its products
+     */
+    public void removeCategory(Long categoryId) {
+        afterCommit(summary -> summary.removeCategory(categoryId));
+    }
+
+    /*
+     * Bucket of a price among `buckets` equal-width buckets between min and max; max falls in the last one.
+     * Same arithmetic as ProductRepository.priceHistogramByCategory.
+     */
+    static int bucketOf(BigDecimal price, BigDecimal min, BigDecimal max, int buckets) {
+        BigDecimal range = max.subtract(min);
+        if (range.signum() == 0) {
+            return 0;
+        }
+        int bucket = price.subtract(min).multiply(BigDecimal.valueOf(buckets)).divide(range, 0, RoundingMode.FLOOR).intValue();
+        return Math.min(bucket, buckets - 1);
+    }
+
+    /*
+     * Stats DTO from the aggregates of a category and its bucket counts.
+     * Bucket bounds are rounded up to the cent, so every price in a bucket is at least its lower bound.
+     */
+    static CategoryPriceStatsDTO toStats(Long categoryId, long count, BigDecimal min, BigDecimal max,
+                                         BigDecimal total, long[] histogram) {
+        BigDecimal range = max.subtract(min);
+        BigDecimal buckets = BigDecimal.valueOf(histogram.length);
+        List<PriceBucketDTO> bucketDTOs = new ArrayList<>(histogram.length);
+        BigDecimal from = min;
+        for (int i = 0; i < histogram.length; i++) {
+            BigDecimal to = i == histogram.length - 1
+                    ? max
+                    : min.add(range.multiply(BigDecimal.valueOf(i + 1)).divide(buckets, PRICE_SCALE, RoundingMode.CEILING));
+            bucketDTOs.add(new PriceBucketDTO(from, to, histogram[i]));
+            from = to;
+        }
+        BigDecimal average = total.divide(BigDecimal.valueOf(count), PRICE_SCALE, RoundingMode.HALF_UP);
+        return new CategoryPriceStatsDTO(categoryId, count, min, max, average, bucketDTOs);
+    }
+
+    private void afterCommit(Consumer<Summary> update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Consumer<Summary> update) {
+        withWriteLock(() -> {
+            if (summary != null) {
+                update.accept(summary);
+            }
+            if (pending != null) {
+                pending.add(update);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Category and price of each product id, and the prices of each category counted from them
+     */
+    private static final class Summary {
+
+        private final NavigableMap<Long, CategoryPrices> categories = new TreeMap<>();
+        private final Map<Long, ProductPrice> products = new HashMap<>();
+
+        void put(Long productId, Long categoryId, BigDecimal price) {
+            ProductPrice current = new ProductPrice(categoryId, price.setScale(PRICE_SCALE, RoundingMode.HALF_UP));
+            ProductPrice previous = products.put(productId, current);
+            if (current.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                uncount(previous);
+            }
+            categories.computeIfAbsent(categoryId, id -> new CategoryPrices()).add(current.price(), 1);
+        }
+
+        void remove(Long productId) {
+            ProductPrice previous = products.remove(productId);
+            if (previous != null) {
+                uncount(previous);
+            }
+        }
+
+        // a scan of every product, but categories are rarely deleted
+        void removeCategory(Long categoryId) {
+            categories.remove(categoryId);
+            products.values().removeIf(product -> product.categoryId().equals(categoryId));
+        }
+
+        private void uncount(ProductPrice product) {
+            CategoryPrices prices = categories.get(product.categoryId());
+            if (prices != null && prices.remove(product.price())) {
+                categories.remove(product.categoryId());
+            }
+        }
+    }
+
+    private record ProductPrice(Long categoryId, BigDecimal price) {}
+
+    /*
+     * Prices of one category: product count per distinct price, plus running count and total
+     */
+    private static final class CategoryPrices {
+
+        private final NavigableMap<BigDecimal, Long> counts = new TreeMap<>();
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+
+        void add(BigDecimal price, long products) {
+            BigDecimal normalised = price.setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+            counts.merge(normalised, products, Long::sum);
+            count += products;
+            total = total.add(normalised.multiply(BigDecimal.valueOf(products)));
+        }
+
+        /*
+         * Uncount one product at this price; true when the category has no products left
+         */
+        boolean remove(BigDecimal price) {
+            BigDecimal normalised = price.setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+            Long products = counts.get(normalised);
+            if (products != null) {
+                if (products == 1) {
+                    counts.remove(normalised);
+                } else {
+                    counts.put(normalised, products - 1);
+                }
+                count--;
+                total = total.subtract(normalised);
+            }
+            return counts.isEmpty();
+        }
+
+        CategoryPriceStatsDTO toStats(Long categoryId, int buckets) {
+            BigDecimal min = counts.firstKey();
+            BigDecimal max = counts.lastKey();
+            long[] histogram = new long[min.compareTo(max) == 0 ? 1 : buckets];
+            counts.forEach((price, products) -> histogram[bucketOf(price, min, max, histogram.length)] += products);
+            return ProductPriceSummary.toStats(categoryId, count, min, max, total, histogram);
+        }
+    }
+}
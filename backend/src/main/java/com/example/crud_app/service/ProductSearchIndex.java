@@ -0,0 +1,486 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CategoryFacetDTO;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.mapper.ProductMapper;
+import com.example.crud_app.repository.ProductRepository;
+import com.example.crud_app.util.PriceBands;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+ * In-process search over product names and prices, enabled with app.search.index.enabled.
+ * Holds an inverted trigram index over lower-cased names, a sorted price map and the ProductDTOs themselves,
+ * so searchProduct can be answered without a database round trip.
+ * Built from ProductRepository once the application is ready and kept current by the product and category
+ * writes, each applied after its transaction commits. Until the first build completes, search() answers empty
+ * and callers fall back to the database.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    static final int GRAM = 3;
+
+    // sort properties the index can order by; anything else is left to the database
+    private static final Map<String, Comparator<ProductDTO>> SORTABLE = Map.of(
+            "id", Comparator.comparing(ProductDTO::id),
+            "name", Comparator.comparing(ProductDTO::name),
+            "price", Comparator.comparing(ProductDTO::price)
+    );
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // one rebuild at a time; a lock rather than synchronized so a virtual thread streaming the catalog is not pinned
+    private final Lock rebuildLock = new ReentrantLock();
+    // guarded by lock; null until the first build completes
+    private Index index;
+    // guarded by lock; updates committed while a rebuild is running, replayed onto the new index
+    private List<Consumer<Index>> pending;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              ProductMapper productMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.search.index.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /*
+     * Load every product into a fresh index and swap it in.
+     * Searches keep using the previous index (or the database) while the catalog is streamed.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Index fresh = new Index();
+        rebuildLock.lock();
+        try {
+            withWriteLock(() -> pending = new ArrayList<>());
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Product> products = productRepository.streamProducts(null, null, null)) {
+                    products.forEach(product -> {
+                        fresh.put(productMapper.toDTO(product));
+                        entityManager.detach(product);
+                    });
+                }
+            });
+            withWriteLock(() -> {
+                pending.forEach(update -> update.accept(fresh));
+                index = fresh;
+            });
+        } finally {
+            withWriteLock(() -> pending = null);
+            rebuildLock.unlock();
+        }
+        log.info("Product search index built: {} products, {} grams in {} ms",
+                fresh.products.size(), fresh.grams.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * Products matching the searchProduct filters, sorted and paged as requested.
+     * Empty when the index is disabled, not built yet, or cannot serve the requested sort.
+     */
+    public Optional<Page<ProductDTO>> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Comparator<ProductDTO> order = comparator(pageable.getSort());
+        if (order == null) {
+            return Optional.empty();
+        }
+        List<ProductDTO> matches;
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            matches = index.find(name, minPrice, maxPrice);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(order);
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(matches, pageable, matches.size()));
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return Optional.of(new PageImpl<>(new ArrayList<>(matches.subList(from, to)), pageable, matches.size()));
+    }
+
+    /*
+     * Category and price-band counts of every product matching the searchProduct filters.
+     * Empty when the index is disabled or not built yet.
+     */
+    public Optional<ProductFacetsDTO> facets(String name, BigDecimal minPrice, BigDecimal maxPrice, PriceBands priceBands) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        List<ProductDTO> matches;
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            matches = index.find(name, minPrice, maxPrice);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, long[]> categoryCounts = new HashMap<>();
+        Map<Long, String> categoryNames = new HashMap<>();
+        long[] bandCounts = new long[priceBands.size()];
+        for (ProductDTO product : matches) {
+            bandCounts[priceBands.bandOf(product.price())]++;
+            categoryCounts.computeIfAbsent(product.categoryId(), id -> new long[1])[0]++;
+            categoryNames.putIfAbsent(product.categoryId(), product.categoryName());
+        }
+        List<CategoryFacetDTO> categories = new ArrayList<>(categoryCounts.size());
+        categoryCounts.forEach((id, count) -> categories.add(new CategoryFacetDTO(id, categoryNames.get(id), count[0])));
+        return Optional.of(priceBands.toFacets(categories, bandCounts));
+    }
+
+    /*
+     * Requested order with id as tie-breaker, or null if a property is not indexed
+     */
+    private static Comparator<ProductDTO> comparator(Sort sort) {
+        Comparator<ProductDTO> order = null;
+        for (Sort.Order property : sort) {
+            Comparator<ProductDTO> next = SORTABLE.get(property.getProperty());
+            if (next == null || property.isIgnoreCase()) {
+                return null;
+            }
+            next = property.isAscending() ? next : next.reversed();
+            order = order == null ? next : order.thenComparing(next);
+        }
+        Comparator<ProductDTO> byId = SORTABLE.get("id");
+        return order == null ? byId : order.thenComparing(byId);
+    }
+
+    /*
+     * Add or replace a product once the current transaction commits
+     */
+    public void put(ProductDTO product) {
+        afterCommit(index -> index.put(product));
+    }
+
+    public void remove(Long productId) {
+        afterCommit(index -> index.remove(productId));
+    }
+
+    public void renameCategory(Long categoryId, String categoryName) {
+        afterCommit(index -> index.renameCategory(categoryId, categoryName));
+    }
+
+    /*
+     * Deleting a category cascades to its products
+     */
+    public void removeCategory(Long categoryId) {
+        afterCommit(index -> index.removeCategory(categoryId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : index.products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<Index> update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private void apply(Consumer<Index> update) {
+        withWriteLock(() -> {
+            if (index != null) {
+                update.accept(index);
+            }
+            if (pending != null) {
+                pending.add(update);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Distinct lower-case n-grams of a name
+     */
+    static Set<String> grams(String lowerName) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= lowerName.length(); i++) {
+            grams.add(lowerName.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(ProductDTO product, String lowerName) {
+    }
+
+    /*
+     * The index proper; not thread-safe, always accessed under the enclosing lock
+     */
+    private static final class Index {
+
+        private final Map<Long, Entry> products = new HashMap<>();
+        private final Map<String, Postings> grams = new HashMap<>();
+        private final NavigableMap<BigDecimal, Postings> prices = new TreeMap<>();
+        private final Map<Long, Postings> categories = new HashMap<>();
+
+        void put(ProductDTO product) {
+            remove(product.id());
+            Entry entry = new Entry(product, normalize(product.name()));
+            products.put(product.id(), entry);
+            for (String gram : grams(entry.lowerName())) {
+                grams.computeIfAbsent(gram, key -> new Postings()).add(product.id());
+            }
+            prices.computeIfAbsent(product.price(), key -> new Postings()).add(product.id());
+            if (product.categoryId() != null) {
+                categories.computeIfAbsent(product.categoryId(), key -> new Postings()).add(product.id());
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = products.remove(id);
+            if (entry == null) {
+                return;
+            }
+            ProductDTO product = entry.product();
+            for (String gram : grams(entry.lowerName())) {
+                removePosting(grams, gram, id);
+            }
+            removePosting(prices, product.price(), id);
+            if (product.categoryId() != null) {
+                removePosting(categories, product.categoryId(), id);
+            }
+        }
+
+        void renameCategory(Long categoryId, String categoryName) {
+            Postings ids = categories.get(categoryId);
+            if (ids == null) {
+                return;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                Entry entry = products.get(ids.get(i));
+                ProductDTO product = entry.product();
+                products.put(product.id(), new Entry(new ProductDTO(product.id(), product.name(), product.price(),
+                        product.categoryId(), categoryName), entry.lowerName()));
+            }
+        }
+
+        void removeCategory(Long categoryId) {
+            Postings ids = categories.get(categoryId);
+            if (ids == null) {
+                return;
+            }
+            for (long id : ids.toArray()) {
+                remove(id);
+            }
+        }
+
+        private static <K> void removePosting(Map<K, Postings> postings, K key, long id) {
+            Postings ids = postings.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.size() == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+
+        /*
+         * Same semantics as ProductRepository.searchProducts: case-insensitive substring on the name,
+         * inclusive price bounds, null filters ignored
+         */
+        List<ProductDTO> find(String name, BigDecimal minPrice, BigDecimal maxPrice) {
+            List<ProductDTO> matches = new ArrayList<>();
+            if (name != null) {
+                String term = normalize(name);
+                for (Entry entry : nameCandidates(term)) {
+                    if (entry.lowerName().contains(term) && inRange(entry.product().price(), minPrice, maxPrice)) {
+                        matches.add(entry.product());
+                    }
+                }
+            } else if (minPrice != null || maxPrice != null) {
+                for (Postings ids : priceRange(minPrice, maxPrice).values()) {
+                    for (int i = 0; i < ids.size(); i++) {
+                        matches.add(products.get(ids.get(i)).product());
+                    }
+                }
+            } else {
+                for (Entry entry : products.values()) {
+                    matches.add(entry.product());
+                }
+            }
+            return matches;
+        }
+
+        /*
+         * Products holding every n-gram of the term, read from the rarest one (still to be verified as a substring).
+         * Terms shorter than an n-gram have no postings to read, so every product is a candidate.
+         */
+        private Collection<Entry> nameCandidates(String term) {
+            if (term.length() < GRAM) {
+                return products.values();
+            }
+            Postings rarest = null;
+            for (String gram : grams(term)) {
+                Postings ids = grams.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                if (rarest == null || ids.size() < rarest.size()) {
+                    rarest = ids;
+                }
+            }
+            List<Entry> candidates = new ArrayList<>(rarest.size());
+            for (int i = 0; i < rarest.size(); i++) {
+                candidates.add(products.get(rarest.get(i)));
+            }
+            return candidates;
+        }
+
+        private NavigableMap<BigDecimal, Postings> priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+            if (minPrice != null && maxPrice != null) {
+                return minPrice.compareTo(maxPrice) > 0
+                        ? new TreeMap<>()
+                        : prices.subMap(minPrice, true, maxPrice, true);
+            }
+            return minPrice != null ? prices.tailMap(minPrice, true) : prices.headMap(maxPrice, true);
+        }
+
+        private static boolean inRange(BigDecimal price, BigDecimal minPrice, BigDecimal maxPrice) {
+            return (minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+        }
+    }
+
+    /*
+     * Sorted set of product ids backed by a long[]: 8 bytes per posting instead of a boxed HashSet entry.
+     * Ids are generated in increasing order, so adds are almost always appends.
+     */
+    static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int at = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                at = -found - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found >= 0) {
+                System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+                size--;
+            }
+        }
+
+        long get(int i) {
+            return ids[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
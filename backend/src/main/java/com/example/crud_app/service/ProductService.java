@@ -1,14 +1,21 @@
 package com.example.crud_app.service;
 
+import com.example.crud_app.dto.CategoryPriceStatsDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.ProductBatchDTO;
 import com.example.crud_app.dto.ProductCreateDTO;
 import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductSearchResultDTO;
 import com.example.crud_app.dto.ProductUpdateDTO;
+import com.example.crud_app.dto.Versioned;
 import com.example.crud_app.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
@@ -30,6 +37,16 @@ public interface ProductService {
      */
     ProductDTO getProductById(Long id);
 
+    /*
+     * Get single product by ID with its version tag, mapping it only when the body is requested
+     */
+    Versioned<ProductDTO> getVersionedProductById(Long id);
+
+    /*
+     * Get many products by ID in one query, in request order, reporting ids that do not exist
+     */
+    ProductBatchDTO getProductsByIds(List<Long> ids);
+
     /*
      * Create a new product
      */
@@ -52,4 +69,45 @@ public interface ProductService {
      * Flexible search
      */
     Page<ProductDTO> searchProduct(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    /*
+     * Flexible search, with category and price-band counts over all matches
+     */
+    ProductSearchResultDTO searchProductWithFacets(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    /*
+     * Name search ranked by relevance, optionally bounded by price
+     */
+    Page<ProductDTO> searchProductRanked(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    /*
+     * Count, min, max, average and price histogram of one category, or of every category with products
+     */
+    List<CategoryPriceStatsDTO> getPriceStats(Long categoryId, int buckets);
+
+    /*
+     * Retrieve all products with keyset pagination
+     */
+    CursorPage<ProductDTO> scrollProducts(String cursor, int size, String sort);
+
+    /*
+     * Get products in a specific category with keyset pagination
+     */
+    CursorPage<ProductDTO> scrollProductsByCategory(Long categoryId, String cursor, int size, String sort);
+
+    /*
+     * Flexible search with keyset pagination
+     */
+    CursorPage<ProductDTO> scrollSearchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                String cursor, int size, String sort);
+
+    /*
+     * Stream every product matching the search filters to the consumer, one at a time
+     */
+    void exportProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Consumer<ProductDTO> consumer);
+
+    /*
+     * Stream every product of a category to the consumer, one at a time
+     */
+    void exportProductsByCategory(Long categoryId, Consumer<ProductDTO> consumer);
 }
@@ -1,32 +1,93 @@
 package com.example.crud_app.service;
 
+import com.example.crud_app.dto.CategoryPriceStatsDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.PriceBucketView;
+import com.example.crud_app.dto.PriceStatsView;
+import com.example.crud_app.dto.ProductBatchDTO;
 import com.example.crud_app.dto.ProductCreateDTO;
 import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.dto.ProductSearchResultDTO;
 import com.example.crud_app.dto.ProductUpdateDTO;
+import com.example.crud_app.dto.ProductView;
+import com.example.crud_app.dto.Versioned;
 import com.example.crud_app.entity.Category;
 import com.example.crud_app.entity.Product;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.exception.BatchTooLargeException;
 import com.example.crud_app.exception.CategoryNotFoundException;
 import com.example.crud_app.exception.DuplicateProductNameException;
 import com.example.crud_app.exception.ProductNotFoundException;
 import com.example.crud_app.mapper.ProductMapper;
-import com.example.crud_app.repository.CategoryRepository;
 import com.example.crud_app.repository.ProductRepository;
+import com.example.crud_app.repository.ProductSpecifications;
+import com.example.crud_app.util.KeysetCursor;
+import com.example.crud_app.util.PriceBands;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class ProductServiceImpl implements ProductService {
 
+    // sort keys allowed for keyset pagination, with the parser for their cursor value
+    private static final Map<String, Function<String, Object>> SCROLL_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "name", value -> value,
+            "price", BigDecimal::new
+    );
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogChangeCounter catalogChangeCounter;
+    private final ProductPriceSummary productPriceSummary;
+    private final MeterRegistry meterRegistry;
+    private final CatalogOutbox catalogOutbox;
+
+    // most histogram buckets per category in getPriceStats
+    private static final int MAX_PRICE_BUCKETS = 100;
+
+    // pg_trgm similarity search, enabled on PostgreSQL (prod)
+    @Value("${app.search.trigram:false}")
+    private boolean trigramSearch;
+
+    // upper edges of the price bands counted by searchProductWithFacets
+    @Value("${app.search.facets.price-bands:25,50,100,250,500,1000}")
+    private List<BigDecimal> priceBandEdges;
+
+    // most distinct ids accepted by getProductsByIds
+    @Value("${app.products.batch.max-size:100}")
+    private int batchMaxSize;
 
     /*
      * Retrieve all products with pagination
@@ -61,8 +122,52 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toDTO(product);
     }
 
+    /*
+     * Get single product by ID with its version tag.
+     * The tag includes the category version, since the DTO carries the category name;
+     * the category is fetched with the product, so mapping after the transaction needs no further query.
+     */
+    @Override
+    public Versioned<ProductDTO> getVersionedProductById(Long id){
+        Product product = findProductById(id);
+        String version = product.getVersion() + "." + product.getCategory().getVersion();
+        return new Versioned<>(version, () -> productMapper.toDTO(product));
+    }
+
+    /*
+     * Get many products by ID with a single IN query joined to the category.
+     * Duplicate ids are collapsed; results follow the first occurrence of each id in the request.
+     */
+    @Override
+    public ProductBatchDTO getProductsByIds(List<Long> ids){
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > batchMaxSize) {
+            throw new BatchTooLargeException("At most " + batchMaxSize + " ids can be fetched at once, got " + requested.size());
+        }
+        if (requested.isEmpty()) {
+            return new ProductBatchDTO(List.of(), List.of());
+        }
+
+        Map<Long, Product> found = new HashMap<>();
+        for (Product product : productRepository.findByIdIn(requested)) {
+            found.put(product.getId(), product);
+        }
+        List<ProductDTO> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Product product = found.get(id);
+            if (product == null) {
+                missingIds.add(id);
+            } else {
+                products.add(productMapper.toDTO(product));
+            }
+        }
+        return new ProductBatchDTO(products, missingIds);
+    }
+
     private Category findCategoryById(Long id){
-        return categoryRepository.findById(id)
+        return categoryCache.findById(id)
                 .orElseThrow(() -> new CategoryNotFoundException("Category not found with id:" + id));
     }
 
@@ -77,7 +182,12 @@ public class ProductServiceImpl implements ProductService {
         Product product = productMapper.toEntity(createDTO);
         product.setCategory(category);
         Product savedProduct = productRepository.save(product);
-        return productMapper.toDTO(savedProduct);
+        ProductDTO productDTO = productMapper.toDTO(savedProduct);
+        productSearchIndex.put(productDTO);
+        productPriceSummary.put(savedProduct.getId(), category.getId(), savedProduct.getPrice());
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+        catalogOutbox.record(CatalogEntityType.PRODUCT, productDTO.id(), ChangeType.CREATED, productDTO);
+        return productDTO;
     }
 
     /*
@@ -92,7 +202,12 @@ public class ProductServiceImpl implements ProductService {
         productMapper.updateEntity(product, updateDTO);
         product.setCategory(category);
         Product savedProduct = productRepository.save(product);
-        return productMapper.toDTO(savedProduct);
+        ProductDTO productDTO = productMapper.toDTO(savedProduct);
+        productSearchIndex.put(productDTO);
+        productPriceSummary.put(savedProduct.getId(), category.getId(), savedProduct.getPrice());
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+        catalogOutbox.record(CatalogEntityType.PRODUCT, productDTO.id(), ChangeType.UPDATED, productDTO);
+        return productDTO;
     }
 
     /*
@@ -101,18 +216,152 @@ public class ProductServiceImpl implements ProductService {
     @Transactional
     @Override
     public void deleteProduct(Long id){
-        if(!productRepository.existsById(id)){
-            throw new ProductNotFoundException("Product not found with id:" + id);
-        }
-        productRepository.deleteById(id);
+        Product product = findProductById(id);
+        productRepository.delete(product);
+        productSearchIndex.remove(id);
+        productPriceSummary.remove(id);
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+        catalogOutbox.record(CatalogEntityType.PRODUCT, id, ChangeType.DELETED, null);
     }
 
     /*
-     * Flexible search
+     * Flexible search, answered from the in-memory index when it is enabled and built
      */
     @Override
     public Page<ProductDTO> searchProduct(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable){
-        return productRepository.searchProducts(name,minPrice,maxPrice,pageable).map(productMapper::toDTO);
+        return productSearchIndex.search(name, minPrice, maxPrice, pageable)
+                .orElseGet(() -> productRepository.searchProducts(name,minPrice,maxPrice,pageable).map(productMapper::toDTO));
+    }
+
+    /*
+     * Flexible search plus facets, both from the in-memory index when it is enabled and built.
+     * Facet time is recorded as search.facets, tagged with the source that answered, to keep its share of the
+     * request visible next to http.server.requests.
+     */
+    @Override
+    public ProductSearchResultDTO searchProductWithFacets(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                          Pageable pageable){
+        Page<ProductDTO> results = searchProduct(name, minPrice, maxPrice, pageable);
+        PriceBands priceBands = PriceBands.of(priceBandEdges);
+        long start = System.nanoTime();
+        Optional<ProductFacetsDTO> indexed = productSearchIndex.facets(name, minPrice, maxPrice, priceBands);
+        ProductFacetsDTO facets = indexed.orElseGet(() ->
+                productRepository.facets(ProductSpecifications.search(name, minPrice, maxPrice), priceBands));
+        Timer.builder("search.facets")
+                .description("Facet counts computed alongside a product search")
+                .tag("source", indexed.isPresent() ? "index" : "database")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new ProductSearchResultDTO(results, facets);
+    }
+
+    /*
+     * Name search ranked by relevance.
+     * The order is the relevance rank, so any sort on the pageable is dropped.
+     */
+    @Override
+    public Page<ProductDTO> searchProductRanked(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable){
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<ProductView> results = trigramSearch
+                ? productRepository.searchRankedTrigram(name, minPrice, maxPrice, page)
+                : productRepository.searchRanked(name, minPrice, maxPrice, page);
+        return results.map(productMapper::toDTO);
+    }
+
+    /*
+     * Price stats from the in-memory summary when it is enabled and built, otherwise from two GROUP BY queries
+     */
+    @Override
+    public List<CategoryPriceStatsDTO> getPriceStats(Long categoryId, int buckets){
+        int bucketCount = Math.max(1, Math.min(buckets, MAX_PRICE_BUCKETS));
+        return productPriceSummary.stats(categoryId, bucketCount)
+                .orElseGet(() -> queryPriceStats(categoryId, bucketCount));
+    }
+
+    private List<CategoryPriceStatsDTO> queryPriceStats(Long categoryId, int buckets){
+        List<PriceStatsView> stats = productRepository.priceStatsByCategory(categoryId);
+        if (stats.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, long[]> histograms = new HashMap<>();
+        for (PriceStatsView row : stats) {
+            histograms.put(row.getCategoryId(), new long[row.getMinPrice().compareTo(row.getMaxPrice()) == 0 ? 1 : buckets]);
+        }
+        // the two queries may straddle a concurrent write, so rows are clamped to the buckets of the first
+        for (PriceBucketView row : productRepository.priceHistogramByCategory(categoryId, buckets)) {
+            long[] histogram = histograms.get(row.getCategoryId());
+            if (histogram != null) {
+                histogram[Math.min(row.getBucket().intValue(), histogram.length - 1)] += row.getCount();
+            }
+        }
+        return stats.stream()
+                .map(row -> ProductPriceSummary.toStats(row.getCategoryId(), row.getCount(), row.getMinPrice(),
+                        row.getMaxPrice(), row.getTotalPrice(), histograms.get(row.getCategoryId())))
+                .toList();
+    }
+
+    /*
+     * Retrieve all products with keyset pagination
+     */
+    @Override
+    public CursorPage<ProductDTO> scrollProducts(String cursor, int size, String sort){
+        return scroll(Specification.allOf(), cursor, size, sort);
+    }
+
+    /*
+     * Get products in a specific category with keyset pagination
+     */
+    @Override
+    public CursorPage<ProductDTO> scrollProductsByCategory(Long categoryId, String cursor, int size, String sort){
+        return scroll(ProductSpecifications.inCategory(categoryId), cursor, size, sort);
+    }
+
+    /*
+     * Flexible search with keyset pagination
+     */
+    @Override
+    public CursorPage<ProductDTO> scrollSearchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice,
+                                                       String cursor, int size, String sort){
+        return scroll(ProductSpecifications.search(name, minPrice, maxPrice), cursor, size, sort);
+    }
+
+    /*
+     * Fetch the slice after the cursor: one range query on (sort, id) joined to the category, no count query
+     */
+    private CursorPage<ProductDTO> scroll(Specification<Product> spec, String cursor, int size, String sort){
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sort, SCROLL_SORT_KEYS);
+        Window<Product> window = productRepository.findBy(spec.and(ProductSpecifications.fetchCategory()), query -> query
+                .sortBy(KeysetCursor.sort(sort))
+                .limit(KeysetCursor.clampSize(size))
+                .scroll(position));
+        return KeysetCursor.toPage(window, sort, productMapper::toDTO);
+    }
+
+    /*
+     * Stream every product matching the search filters to the consumer.
+     * Each product is detached once written, so the persistence context does not grow with the catalog.
+     */
+    @Override
+    public void exportProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Consumer<ProductDTO> consumer){
+        export(productRepository.streamProducts(name, minPrice, maxPrice), consumer);
+    }
+
+    /*
+     * Stream every product of a category to the consumer, detaching each once written
+     */
+    @Override
+    public void exportProductsByCategory(Long categoryId, Consumer<ProductDTO> consumer){
+        export(productRepository.streamProductsByCategory(categoryId), consumer);
+    }
+
+    private void export(Stream<Product> stream, Consumer<ProductDTO> consumer){
+        try (Stream<Product> products = stream) {
+            products.forEach(product -> {
+                consumer.accept(productMapper.toDTO(product));
+                entityManager.detach(product);
+            });
+        }
     }
 
     /*
@@ -1,15 +1,30 @@
 package com.example.crud_app.service;
 
 import com.example.crud_app.dto.CreateUserDTO;
+import com.example.crud_app.dto.CursorPage;
 import com.example.crud_app.dto.UpdateUserDTO;
 import com.example.crud_app.dto.UserDTO;
-import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserService {
-    List<UserDTO> getAllUsers();
+    /*
+     * List users with pagination, optionally filtered by role and username prefix
+     */
+    Page<UserDTO> getAllUsers(Role role, String usernamePrefix, Pageable pageable);
+
+    /*
+     * List users with keyset pagination, optionally filtered by role and username prefix
+     */
+    CursorPage<UserDTO> scrollUsers(Role role, String usernamePrefix, String cursor, int size, String sort);
+
+    /*
+     * Stream every user matching the filters to the consumer, one at a time
+     */
+    void exportUsers(Role role, String usernamePrefix, Consumer<UserDTO> consumer);
 
     UserDTO getUserById(Long id);
 
@@ -28,6 +43,8 @@ public interface UserService {
      */
     void deleteUser(Long id);
 
-
-    Optional<User> getUserByUsername(String username);
+    /*
+     * Get User by username
+     */
+    UserDTO getUserByUsername(String username);
 }
@@ -1,36 +1,93 @@
 package com.example.crud_app.service;
 
 import com.example.crud_app.dto.CreateUserDTO;
+import com.example.crud_app.dto.CursorPage;
 import com.example.crud_app.dto.UpdateUserDTO;
 import com.example.crud_app.dto.UserDTO;
 import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
 import com.example.crud_app.exception.UserAlreadyExistsException;
 import com.example.crud_app.exception.UserNotFoundException;
 import com.example.crud_app.mapper.UserMapper;
 import com.example.crud_app.repository.UserRepository;
+import com.example.crud_app.repository.UserSpecifications;
+import com.example.crud_app.security.PasswordHasher;
+import com.example.crud_app.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
+    // sort keys allowed for keyset pagination, with the parser for their cursor value
+    private static final Map<String, Function<String, Object>> SCROLL_SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "username", value -> value
+    );
+
+    // properties a page may be sorted by; anything else (e.g. password) is dropped from the request
+    private static final Set<String> PAGE_SORT_KEYS = Set.of("id", "username", "role");
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final EntityManager entityManager;
 
+    /*
+     * One page of users, optionally filtered by role and username prefix
+     */
     @Override
-    public List<UserDTO> getAllUsers(){
-        return userRepository.findAll()
-                .stream()
-                .map(userMapper::toDTO)
-                .toList();
+    public Page<UserDTO> getAllUsers(Role role, String usernamePrefix, Pageable pageable){
+        Sort sort = Sort.by(pageable.getSort().filter(order -> PAGE_SORT_KEYS.contains(order.getProperty())).toList());
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        return userRepository.findAll(UserSpecifications.search(role, usernamePrefix), page)
+                .map(userMapper::toDTO);
+    }
+
+    /*
+     * Fetch the slice after the cursor: one range query on (sort, id), no count query
+     */
+    @Override
+    public CursorPage<UserDTO> scrollUsers(Role role, String usernamePrefix, String cursor, int size, String sort){
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, sort, SCROLL_SORT_KEYS);
+        Window<User> window = userRepository.findBy(UserSpecifications.search(role, usernamePrefix), query -> query
+                .sortBy(KeysetCursor.sort(sort))
+                .limit(KeysetCursor.clampSize(size))
+                .scroll(position));
+        return KeysetCursor.toPage(window, sort, userMapper::toDTO);
+    }
+
+    /*
+     * Stream every matching user to the consumer.
+     * Each user is detached once written, so the persistence context does not grow with the table.
+     */
+    @Override
+    public void exportUsers(Role role, String usernamePrefix, Consumer<UserDTO> consumer){
+        String usernamePattern = usernamePrefix == null || usernamePrefix.isEmpty()
+                ? null
+                : UserSpecifications.likePrefix(usernamePrefix);
+        try (Stream<User> users = userRepository.streamUsers(role, usernamePattern)) {
+            users.forEach(user -> {
+                consumer.accept(userMapper.toDTO(user));
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Override
@@ -43,6 +100,7 @@ public class UserServiceImpl implements UserService {
     /*
      * Create User
      */
+    @Transactional
     @Override
     public UserDTO createUser(CreateUserDTO createUserDTO){
         if (userRepository.existsByUsername(createUserDTO.username())){
@@ -53,7 +111,7 @@ public class UserServiceImpl implements UserService {
         User user = userMapper.toEntity(createUserDTO);
 
         // Encode the password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
 
         // Save user with encoded password
         User savedUser = userRepository.save(user);
@@ -64,6 +122,7 @@ public class UserServiceImpl implements UserService {
     /*
      * Update an existing User
      */
+    @Transactional
     @Override
     public UserDTO updateUser(Long id, UpdateUserDTO updateUserDTO){
         User user = userRepository.findById(id)
@@ -83,6 +142,7 @@ public class UserServiceImpl implements UserService {
     /*
      * Delete User
      */
+    @Transactional
     @Override
     public void deleteUser(Long id){
         if(!userRepository.existsById(id)){
@@ -92,8 +152,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Optional<User> getUserByUsername(String username){
-        return userRepository.findByUsername(username);
+    public UserDTO getUserByUsername(String username){
+        return userRepository.findByUsername(username)
+                .map(userMapper::toDTO)
+                .orElseThrow(() -> new UserNotFoundException("User not found with username:" + username));
     }
 
 }
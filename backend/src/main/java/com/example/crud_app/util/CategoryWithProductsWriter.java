@@ -0,0 +1,54 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_app.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/*
+ * Writes a category and its products as a single JSON document in the CategoryWithProductsDTO layout,
+ * one product at a time. Only the current product is held in memory; output is flushed as the buffer fills.
+ */
+public class CategoryWithProductsWriter {
+
+    private final JsonGenerator generator;
+
+    public CategoryWithProductsWriter(OutputStream out, CategoryDTO category, ObjectMapper objectMapper) {
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.writeStartObject();
+            generator.writeNumberField("id", category.id());
+            generator.writeStringField("name", category.name());
+            generator.writeStringField("description", category.description());
+            generator.writeArrayFieldStart("products");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(ProductDTO product) {
+        try {
+            generator.writeObject(product);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Close the products array and the document, then flush what is left in the buffer
+     */
+    public void finish() {
+        try {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.example.crud_app.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +14,8 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -22,8 +27,37 @@ public class JwtUtils {
     private int jwtExpirationMs;
 
     private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
 
-    private SecretKey getSigningKey() {
+    // built once: the key and parser are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    public JwtUtils(MeterRegistry meterRegistry) {
+        this.validTokenTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = validationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.validation")
+                .description("JWT signature and expiry verification")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = buildSigningKey();
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    private SecretKey buildSigningKey() {
         // Convert string secret to bytes
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
 
@@ -37,70 +71,70 @@ public class JwtUtils {
     }
 
     public String generateToken(String username, String role) {
+        return generateToken(null, username, role);
+    }
+
+    /*
+     * Token carrying everything the request principal needs (user id, username, role),
+     * so authenticated requests never have to look the user up
+     */
+    public String generateToken(Long userId, String username, String role) {
         // Create claims including role
         Map<String, Object> claims = new HashMap<>();
         claims.put(ROLE_CLAIM, role);
+        if (userId != null) {
+            claims.put(USER_ID_CLAIM, userId);
+        }
 
         return Jwts.builder()
                 .setSubject(username)
                 .addClaims(claims) // Add custom claims
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /*
+     * Verify signature and expiry once and return the claims, or empty if the token is invalid
+     */
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+    }
+
+    public String getRole(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    public Long getUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Long.class);
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return jwtParser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get(ROLE_CLAIM, String.class);
+        return getRole(jwtParser.parseClaimsJws(token).getBody());
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseVerifiedClaims(token).isPresent();
     }
 
     public boolean validateToken(String token, String username) {
-        try {
-            String tokenUsername = getUsernameFromToken(token);
-            return tokenUsername.equals(username) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date expiration = getExpirationFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    private Date getExpirationFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return parseVerifiedClaims(token)
+                .map(claims -> username.equals(claims.getSubject()) && !claims.getExpiration().before(new Date()))
+                .orElse(false);
     }
-}
\ No newline at end of file
+}
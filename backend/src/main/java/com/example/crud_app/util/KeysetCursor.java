@@ -0,0 +1,105 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Opaque (sort key, id) cursors for keyset pagination.
+ * A cursor is the base64url encoding of "sortKey \n id \n sortValue" taken from the last row of a slice,
+ * so the next slice is a single range scan on (sortKey, id) without OFFSET or COUNT.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "\n";
+
+    private KeysetCursor() {
+    }
+
+    /*
+     * Sort for a keyset listing: the requested key, with id as unique tie-breaker
+     */
+    public static Sort sort(String sortKey) {
+        return ID.equals(sortKey) ? Sort.by(ID) : Sort.by(sortKey, ID);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /*
+     * Decode a cursor into the position after which the next slice starts.
+     * A missing cursor means the first slice.
+     */
+    public static KeysetScrollPosition decode(String cursor, String sortKey,
+                                              Map<String, Function<String, Object>> sortKeyParsers) {
+        if (!sortKeyParsers.containsKey(sortKey)) {
+            throw new InvalidCursorException("Unsupported sort key '" + sortKey + "', expected one of " + sortKeyParsers.keySet());
+        }
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length != 3) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!parts[0].equals(sortKey)) {
+            throw new InvalidCursorException("Cursor was issued for sort '" + parts[0] + "', not '" + sortKey + "'");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            if (!ID.equals(sortKey)) {
+                keys.put(sortKey, sortKeyParsers.get(sortKey).apply(parts[2]));
+            }
+            keys.put(ID, Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /*
+     * Encode the keys of a scroll position as an opaque cursor
+     */
+    public static String encode(String sortKey, KeysetScrollPosition position) {
+        Map<String, Object> keys = position.getKeys();
+        Object sortValue = ID.equals(sortKey) ? "" : keys.get(sortKey);
+        String value = sortValue instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(sortValue);
+        String raw = sortKey + SEPARATOR + keys.get(ID) + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * Map a window of entities to a cursor page, pointing the next cursor at its last row
+     */
+    public static <T, R> CursorPage<R> toPage(Window<T> window, String sortKey, Function<T, R> mapper) {
+        List<R> content = window.stream().map(mapper).toList();
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode(sortKey, (KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new CursorPage<>(content, content.size(), nextCursor != null, nextCursor);
+    }
+}
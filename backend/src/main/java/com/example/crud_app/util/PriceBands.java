@@ -0,0 +1,70 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.CategoryFacetDTO;
+import com.example.crud_app.dto.PriceBandFacetDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Price bands of the search facets, from a sorted list of edges: n edges make n + 1 bands,
+ * the first open below and the last open above. Band i holds prices from edge i - 1 (inclusive) to edge i (exclusive).
+ */
+public final class PriceBands {
+
+    private static final Comparator<CategoryFacetDTO> MOST_MATCHES_FIRST = Comparator
+            .comparingLong(CategoryFacetDTO::count).reversed()
+            .thenComparing(CategoryFacetDTO::categoryName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final BigDecimal[] edges;
+
+    private PriceBands(BigDecimal[] edges) {
+        this.edges = edges;
+    }
+
+    public static PriceBands of(List<BigDecimal> edges) {
+        return new PriceBands(edges.stream().distinct().sorted().toArray(BigDecimal[]::new));
+    }
+
+    public int size() {
+        return edges.length + 1;
+    }
+
+    /*
+     * Inclusive lower bound of a band, null for the first
+     */
+    public BigDecimal from(int band) {
+        return band == 0 ? null : edges[band - 1];
+    }
+
+    /*
+     * Exclusive upper bound of a band, null for the last
+     */
+    public BigDecimal to(int band) {
+        return band == edges.length ? null : edges[band];
+    }
+
+    public int bandOf(BigDecimal price) {
+        int band = 0;
+        while (band < edges.length && price.compareTo(edges[band]) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    /*
+     * Facets from per-category counts and per-band counts
+     */
+    public ProductFacetsDTO toFacets(List<CategoryFacetDTO> categories, long[] bandCounts) {
+        List<PriceBandFacetDTO> priceBands = new ArrayList<>(size());
+        for (int band = 0; band < size(); band++) {
+            priceBands.add(new PriceBandFacetDTO(from(band), to(band), bandCounts[band]));
+        }
+        List<CategoryFacetDTO> sorted = new ArrayList<>(categories);
+        sorted.sort(MOST_MATCHES_FIRST);
+        return new ProductFacetsDTO(sorted, priceBands);
+    }
+}
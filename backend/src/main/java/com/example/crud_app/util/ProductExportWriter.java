@@ -0,0 +1,79 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Writes products one line at a time as NDJSON or CSV.
+ * Only the current row is held in memory; output is flushed to the stream as the buffer fills.
+ */
+public class ProductExportWriter {
+
+    private static final String CSV_HEADER = "id,name,price,categoryId,categoryName";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ExportFormat.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+
+    public void write(ProductDTO product) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writeLine(objectMapper.writeValueAsString(product));
+            } else {
+                writeLine(product.id() + ","
+                        + csv(product.name()) + ","
+                        + product.price().toPlainString() + ","
+                        + product.categoryId() + ","
+                        + csv(product.categoryName()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180 quoting
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
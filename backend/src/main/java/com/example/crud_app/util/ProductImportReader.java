@@ -0,0 +1,156 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.ProductImportRow;
+import com.example.crud_app.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/*
+ * Reads product rows one line at a time from an NDJSON or CSV stream, in the same layout as
+ * ProductExportWriter produces. CSV columns are located by header, so extra columns such as id are ignored.
+ */
+public class ProductImportReader implements Iterator<ProductImportRow> {
+
+    private final BufferedReader reader;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+    private ProductImportRow next;
+
+    public ProductImportReader(InputStream in, ExportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ProductImportRow readRow() {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (format == ExportFormat.NDJSON) {
+            return parseJson(line);
+        }
+        if (csvColumns == null) {
+            csvColumns = parseHeader(line);
+            return readRow();
+        }
+        return parseCsv(line);
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductImportRow parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            return new ProductImportRow(lineNumber, text(node, "name"), text(node, "price"),
+                    text(node, "categoryId"), text(node, "categoryName"), null);
+        } catch (JsonProcessingException e) {
+            return new ProductImportRow(lineNumber, null, null, null, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> names = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        return columns;
+    }
+
+    private ProductImportRow parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        return new ProductImportRow(lineNumber, column(values, "name"), column(values, "price"),
+                column(values, "categoryId"), column(values, "categoryName"), null);
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    // RFC 4180 fields on a single line
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.crud_app.util;
+
+import com.example.crud_app.dto.UserDTO;
+import com.example.crud_app.enums.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Writes users one line at a time as NDJSON or CSV, in the same way as ProductExportWriter.
+ */
+public class UserExportWriter {
+
+    private static final String CSV_HEADER = "id,username,role";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+
+    public UserExportWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == ExportFormat.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+
+    public void write(UserDTO user) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                writeLine(objectMapper.writeValueAsString(user));
+            } else {
+                writeLine(user.id() + ","
+                        + ProductExportWriter.csv(user.username()) + ","
+                        + user.role());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
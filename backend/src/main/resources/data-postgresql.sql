@@ -0,0 +1,11 @@
+-- Trigram indexes backing the ranked name search (GET /api/v1/products/search/ranked).
+-- gin_trgm_ops serves both ILIKE '%term%' and the similarity operator %.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_categories_name_trgm ON categories USING gin (name gin_trgm_ops);
+
+-- Username-prefix filters on the user listing (LIKE 'prefix%'). A default btree follows the database collation,
+-- which LIKE can only range-scan in the C locale; text_pattern_ops compares byte-wise and always can.
+CREATE INDEX IF NOT EXISTS idx_users_username_pattern ON users (username text_pattern_ops);
+-- replaced by the index above; ddl-auto update never drops indexes of earlier schemas
+DROP INDEX IF EXISTS idx_users_username_id;
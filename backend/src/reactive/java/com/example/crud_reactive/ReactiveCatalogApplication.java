@@ -0,0 +1,46 @@
+package com.example.crud_reactive;
+
+import com.example.crud_app.security.JwtTokenCache;
+import com.example.crud_app.util.JwtUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/*
+ * Read-only catalog API over WebFlux and R2DBC (the reactive Maven profile), serving the product, product search and
+ * category reads of the servlet application from the same database, on its own port and configured by reactive.yml.
+ * It lives outside com.example.crud_app so the servlet application never scans it; token verification is shared.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@Import({JwtUtils.class, JwtTokenCache.class})
+public class ReactiveCatalogApplication {
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveCatalogApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.properties("spring.config.name=reactive")
+				.run(args);
+	}
+
+	/*
+	 * Reactor Netty, a few event loop threads for all connections; Boot would otherwise pick the Tomcat of the
+	 * servlet starter, which runs WebFlux on its request thread pool
+	 */
+	@Bean
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+}
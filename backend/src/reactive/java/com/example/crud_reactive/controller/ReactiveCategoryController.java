@@ -0,0 +1,42 @@
+package com.example.crud_reactive.controller;
+
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_reactive.service.ReactiveCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/categories")
+@RequiredArgsConstructor
+public class ReactiveCategoryController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    /*
+     * Stream all categories, or one page of them with ?page=&size=
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CategoryDTO> getAllCategories(@RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(required = false) Integer size){
+        return reactiveCatalogService.getAllCategories(page, size);
+    }
+
+    /*
+     * Get single category by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<CategoryDTO> getCategoryById(@PathVariable Long id) {
+        return reactiveCatalogService.getCategoryById(id);
+    }
+
+    /*
+     * Get single category by name
+     */
+    @GetMapping("/name/{name}")
+    public Mono<CategoryDTO> getCategoryByName(@PathVariable String name) {
+        return reactiveCatalogService.getCategoryByName(name);
+    }
+}
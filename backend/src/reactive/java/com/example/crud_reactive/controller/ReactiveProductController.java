@@ -0,0 +1,64 @@
+package com.example.crud_reactive.controller;
+
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_reactive.service.ReactiveCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/*
+ * Product reads of the reactive API. Lists are a JSON array, or one product per line with Accept: application/x-ndjson;
+ * either way rows are written as they are read, at the pace the client consumes them.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    /*
+     * Stream all products, or one page of them with ?page=&size=
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductDTO> getAllProducts(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(required = false) Integer size){
+        return reactiveCatalogService.getAllProducts(page, size);
+    }
+
+    /*
+     * Stream the products of a specific category
+     */
+    @GetMapping(value = "/category/{categoryId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductDTO> getProductsByCategory(@PathVariable Long categoryId,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(required = false) Integer size){
+        return reactiveCatalogService.getProductsByCategory(categoryId, page, size);
+    }
+
+    /*
+     * Get single product by ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ProductDTO> getProductById(@PathVariable Long id){
+        return reactiveCatalogService.getProductById(id);
+    }
+
+    /*
+     * Stream the products matching a name substring and price range
+     * GET /api/v1/products/search?name=phone&minPrice=100&maxPrice=500
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductDTO> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size){
+        return reactiveCatalogService.searchProducts(name, minPrice, maxPrice, page, size);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.crud_reactive.exception;
+
+import com.example.crud_app.exception.CategoryNotFoundException;
+import com.example.crud_app.exception.ErrorResponse;
+import com.example.crud_app.exception.ProductNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/*
+ * The error bodies of the servlet application's GlobalExceptionHandler for the reads served here
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(CategoryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCategoryNotFound(CategoryNotFoundException ex) {
+        return notFound("Category Not Found", ex);
+    }
+
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleProductNotFound(ProductNotFoundException ex) {
+        return notFound("Product Not Found", ex);
+    }
+
+    private static ResponseEntity<ErrorResponse> notFound(String error, RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                error,
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        // also when the request accepted only application/x-ndjson
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+}
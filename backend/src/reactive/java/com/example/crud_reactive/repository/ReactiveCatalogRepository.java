@@ -0,0 +1,131 @@
+package com.example.crud_reactive.repository;
+
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_app.dto.ProductDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Catalog reads over R2DBC, straight into the DTOs of the servlet application (same tables, no entities).
+ * Results are fetched app.reactive.fetch-size rows at a time and only as fast as the subscriber requests them,
+ * so a slow client holds back the query instead of buffering the catalog in memory.
+ * Rows are ordered by id; an unpaged Pageable streams the whole result.
+ */
+@Repository
+public class ReactiveCatalogRepository {
+
+    private static final String SELECT_PRODUCTS =
+            "SELECT p.id, p.name, p.price, p.category_id, c.name AS category_name " +
+            "FROM products p JOIN categories c ON c.id = p.category_id ";
+
+    private static final String SELECT_CATEGORIES = "SELECT c.id, c.name, c.description FROM categories c ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient,
+                                     @Value("${app.reactive.fetch-size:200}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<ProductDTO> findProducts(Pageable pageable) {
+        return products("", Map.of(), pageable);
+    }
+
+    public Flux<ProductDTO> findProductsByCategory(Long categoryId, Pageable pageable) {
+        return products("WHERE p.category_id = :categoryId ", Map.of("categoryId", categoryId), pageable);
+    }
+
+    public Mono<ProductDTO> findProductById(Long id) {
+        return query(SELECT_PRODUCTS + "WHERE p.id = :id ", "p.id", Map.of("id", id), Pageable.unpaged())
+                .map(ReactiveCatalogRepository::toProduct)
+                .first();
+    }
+
+    /*
+     * Same filters as ProductRepository.searchProducts: case-insensitive name substring and an inclusive price range,
+     * each applied only when given
+     */
+    public Flux<ProductDTO> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1 ");
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (name != null) {
+            where.append("AND LOWER(p.name) LIKE :name ");
+            params.put("name", "%" + name.toLowerCase(Locale.ROOT) + "%");
+        }
+        if (minPrice != null) {
+            where.append("AND p.price >= :minPrice ");
+            params.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            where.append("AND p.price <= :maxPrice ");
+            params.put("maxPrice", maxPrice);
+        }
+        return products(where.toString(), params, pageable);
+    }
+
+    public Flux<CategoryDTO> findCategories(Pageable pageable) {
+        return query(SELECT_CATEGORIES, "c.id", Map.of(), pageable)
+                .map(ReactiveCatalogRepository::toCategory)
+                .all();
+    }
+
+    public Mono<CategoryDTO> findCategoryById(Long id) {
+        return query(SELECT_CATEGORIES + "WHERE c.id = :id ", "c.id", Map.of("id", id), Pageable.unpaged())
+                .map(ReactiveCatalogRepository::toCategory)
+                .first();
+    }
+
+    public Mono<CategoryDTO> findCategoryByName(String name) {
+        return query(SELECT_CATEGORIES + "WHERE c.name = :name ", "c.id", Map.of("name", name), Pageable.unpaged())
+                .map(ReactiveCatalogRepository::toCategory)
+                .first();
+    }
+
+    private Flux<ProductDTO> products(String where, Map<String, Object> params, Pageable pageable) {
+        return query(SELECT_PRODUCTS + where, "p.id", params, pageable)
+                .map(ReactiveCatalogRepository::toProduct)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(String select, String orderBy, Map<String, Object> params,
+                                                    Pageable pageable) {
+        String sql = select + "ORDER BY " + orderBy;
+        if (pageable.isPaged()) {
+            sql += " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec;
+    }
+
+    private static ProductDTO toProduct(Readable row) {
+        return new ProductDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("category_id", Long.class),
+                row.get("category_name", String.class));
+    }
+
+    private static CategoryDTO toCategory(Readable row) {
+        return new CategoryDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class));
+    }
+}
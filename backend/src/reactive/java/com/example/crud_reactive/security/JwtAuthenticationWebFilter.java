@@ -0,0 +1,63 @@
+package com.example.crud_reactive.security;
+
+import com.example.crud_app.enums.Role;
+import com.example.crud_app.security.AuthenticatedUser;
+import com.example.crud_app.security.JwtTokenCache;
+import com.example.crud_app.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Optional;
+
+/*
+ * Reactive counterpart of JwtAuthenticationFilter: the same token verification and AuthenticatedUser principal,
+ * carried in the Reactor context instead of a thread-bound SecurityContext.
+ * Only added to the security filter chain, not registered as a bean, so it runs once per request.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtUtils jwtUtils;
+    private final JwtTokenCache jwtTokenCache;
+
+    public JwtAuthenticationWebFilter(JwtUtils jwtUtils, JwtTokenCache jwtTokenCache) {
+        this.jwtUtils = jwtUtils;
+        this.jwtTokenCache = jwtTokenCache;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        // an HMAC check at most, and a digest lookup on a cache hit: cheap enough for the event loop
+        Optional<Claims> claims = jwtTokenCache.verify(authHeader.substring(7));
+        if (claims.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        AuthenticatedUser user = new AuthenticatedUser(
+                jwtUtils.getUserId(claims.get()),
+                claims.get().getSubject(),
+                Role.valueOf(jwtUtils.getRole(claims.get())));
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        user,
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
+                );
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.crud_reactive.security;
+
+import com.example.crud_app.security.JwtTokenCache;
+import com.example.crud_app.util.JwtUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+
+/*
+ * The read rules of SecurityConfig for the reactive API; everything else is refused, writes stay on the servlet application
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtUtils jwtUtils,
+                                                         JwtTokenCache jwtTokenCache) {
+        return http
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                // stateless: no session, the token is verified on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // 403 without a valid token, as from the servlet application
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(auth -> auth
+                        // Health and Prometheus scrape endpoints
+                        .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+
+                        // READ operations - accessible to both USER and ADMIN
+                        .pathMatchers(HttpMethod.GET, "/api/v1/categories", "/api/v1/categories/**").hasAnyRole("USER", "ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/api/v1/products", "/api/v1/products/**").hasAnyRole("USER", "ADMIN")
+
+                        .anyExchange().denyAll()
+                )
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtUtils, jwtTokenCache), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // Cors configuration, the origins of the servlet application
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+
+        configuration.setAllowedOrigins(Arrays.asList(
+                "http://localhost",
+                "http://localhost:80",
+                "http://localhost:3000",
+                "http://localhost:3001"
+        ));
+
+        configuration.setAllowedMethods(Arrays.asList("GET", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.crud_reactive.service;
+
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_app.dto.ProductDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/*
+ * Catalog reads of the reactive API. A null size streams every matching row; otherwise one page of at most
+ * app.reactive.max-page-size rows. Missing single items fail with the servlet application's not-found exceptions.
+ */
+public interface ReactiveCatalogService {
+
+    Flux<ProductDTO> getAllProducts(int page, Integer size);
+
+    Flux<ProductDTO> getProductsByCategory(Long categoryId, int page, Integer size);
+
+    Mono<ProductDTO> getProductById(Long id);
+
+    Flux<ProductDTO> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, int page, Integer size);
+
+    Flux<CategoryDTO> getAllCategories(int page, Integer size);
+
+    Mono<CategoryDTO> getCategoryById(Long id);
+
+    Mono<CategoryDTO> getCategoryByName(String name);
+}
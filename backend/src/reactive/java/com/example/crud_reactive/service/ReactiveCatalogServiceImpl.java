@@ -0,0 +1,76 @@
+package com.example.crud_reactive.service;
+
+import com.example.crud_app.dto.CategoryDTO;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.exception.CategoryNotFoundException;
+import com.example.crud_app.exception.ProductNotFoundException;
+import com.example.crud_reactive.repository.ReactiveCatalogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Service
+public class ReactiveCatalogServiceImpl implements ReactiveCatalogService {
+
+    private final ReactiveCatalogRepository reactiveCatalogRepository;
+    private final int maxPageSize;
+
+    public ReactiveCatalogServiceImpl(ReactiveCatalogRepository reactiveCatalogRepository,
+                                      @Value("${app.reactive.max-page-size:2000}") int maxPageSize) {
+        this.reactiveCatalogRepository = reactiveCatalogRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public Flux<ProductDTO> getAllProducts(int page, Integer size) {
+        return reactiveCatalogRepository.findProducts(pageable(page, size));
+    }
+
+    @Override
+    public Flux<ProductDTO> getProductsByCategory(Long categoryId, int page, Integer size) {
+        return reactiveCatalogRepository.findProductsByCategory(categoryId, pageable(page, size));
+    }
+
+    @Override
+    public Mono<ProductDTO> getProductById(Long id) {
+        return reactiveCatalogRepository.findProductById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with id: " + id)));
+    }
+
+    @Override
+    public Flux<ProductDTO> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, int page, Integer size) {
+        return reactiveCatalogRepository.searchProducts(name, minPrice, maxPrice, pageable(page, size));
+    }
+
+    @Override
+    public Flux<CategoryDTO> getAllCategories(int page, Integer size) {
+        return reactiveCatalogRepository.findCategories(pageable(page, size));
+    }
+
+    @Override
+    public Mono<CategoryDTO> getCategoryById(Long id) {
+        return reactiveCatalogRepository.findCategoryById(id)
+                .switchIfEmpty(Mono.error(() -> new CategoryNotFoundException("Category not found with id:" + id)));
+    }
+
+    @Override
+    public Mono<CategoryDTO> getCategoryByName(String name) {
+        return reactiveCatalogRepository.findCategoryByName(name)
+                .switchIfEmpty(Mono.error(() -> new CategoryNotFoundException("Category not found with name:" + name)));
+    }
+
+    /*
+     * Out-of-range page and size are clamped, like the servlet application's pageable resolution
+     */
+    private Pageable pageable(int page, Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), maxPageSize));
+    }
+}
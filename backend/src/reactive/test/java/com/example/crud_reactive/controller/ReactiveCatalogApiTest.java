@@ -0,0 +1,127 @@
+package com.example.crud_reactive.controller;
+
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.util.JwtUtils;
+import com.example.crud_reactive.ReactiveCatalogApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/*
+ * The reactive API on an in-memory database laid out like the servlet application's
+ */
+@SpringBootTest(classes = ReactiveCatalogApplication.class, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.config.name=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactivetest;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:reactive-schema.sql",
+        "spring.sql.init.data-locations=classpath:reactive-data.sql",
+        // a few rows per round trip, so streaming spans several fetches
+        "app.reactive.fetch-size=2"
+})
+@AutoConfigureWebTestClient
+class ReactiveCatalogApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        bearer = "Bearer " + jwtUtils.generateToken("user", "USER");
+    }
+
+    @Test
+    void getAllProducts_ShouldStreamEveryProduct() {
+        Flux<ProductDTO> products = webTestClient.get().uri("/api/v1/products")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(products, 1)
+                .expectNextMatches(product -> product.name().equals("Smartphone")
+                        && product.categoryName().equals("Electronics"))
+                .thenRequest(5)
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllProducts_WithSize_ShouldReturnOnePage() {
+        webTestClient.get().uri("/api/v1/products?page=1&size=4")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Novel")
+                .jsonPath("$[1].name").isEqualTo("Cookbook");
+    }
+
+    @Test
+    void searchProducts_ShouldFilterByNameAndPrice() {
+        webTestClient.get().uri("/api/v1/products/search?name=PHONE&maxPrice=200")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Headphones")
+                .jsonPath("$[1].name").isEqualTo("Phone Case");
+    }
+
+    @Test
+    void getProductById_WhenMissing_ShouldReturnNotFound() {
+        webTestClient.get().uri("/api/v1/products/999")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Product Not Found")
+                .jsonPath("$.message").isEqualTo("Product not found with id: 999");
+    }
+
+    @Test
+    void getCategoryByName_ShouldReturnCategory() {
+        webTestClient.get().uri("/api/v1/categories/name/Books")
+                .header(HttpHeaders.AUTHORIZATION, bearer)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(2)
+                .jsonPath("$.description").isEqualTo("Educational and entertainment books");
+    }
+
+    @Test
+    void getAllCategories_WithoutToken_ShouldBeForbidden() {
+        webTestClient.get().uri("/api/v1/categories")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    void getAllCategories_WithInvalidToken_ShouldBeForbidden() {
+        webTestClient.get().uri("/api/v1/categories")
+                .header(HttpHeaders.AUTHORIZATION, bearer + "x")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
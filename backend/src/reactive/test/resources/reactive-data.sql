@@ -0,0 +1,12 @@
+-- A small catalog for the reactive API tests
+INSERT INTO categories (name, description) VALUES
+    ('Electronics', 'Electronic devices and gadgets'),
+    ('Books', 'Educational and entertainment books');
+
+INSERT INTO products (name, price, category_id) VALUES
+    ('Smartphone', 699.99, 1),
+    ('Laptop', 999.99, 1),
+    ('Headphones', 149.99, 1),
+    ('Phone Case', 19.99, 1),
+    ('Novel', 14.99, 2),
+    ('Cookbook', 29.99, 2);
@@ -0,0 +1,15 @@
+-- Tables of the servlet application (created there by Hibernate) for the reactive API tests
+CREATE TABLE categories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE products (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    price NUMERIC(6, 2) NOT NULL,
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    version BIGINT DEFAULT 0 NOT NULL
+);
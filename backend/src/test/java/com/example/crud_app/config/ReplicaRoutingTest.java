@@ -0,0 +1,162 @@
+package com.example.crud_app.config;
+
+import com.example.crud_app.enums.Role;
+import com.example.crud_app.repository.CategoryRepository;
+import com.example.crud_app.security.AuthenticatedUser;
+import com.example.crud_app.service.CatalogChangeCounter;
+import com.example.crud_app.service.CategoryCache;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Both pools point at the same in-memory database; the pool holding the transaction's connection shows the route.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:testdb"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Autowired
+    private CatalogChangeCounter catalogChangeCounter;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private String poolOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> activePool());
+    }
+
+    private String activePool() {
+        categoryRepository.count();
+        return replicaDataSource.getHikariPoolMXBean().getActiveConnections() > 0 ? "replica"
+                : primaryDataSource.getHikariPoolMXBean().getActiveConnections() > 0 ? "primary"
+                : "none";
+    }
+
+    private void request(String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/categories");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        readYourWritesInterceptor.preHandle(request, response, null);
+        readYourWritesInterceptor.afterCompletion(request, response, null, null);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() {
+        assertThat(poolOf(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimary() {
+        assertThat(poolOf(false)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_WhenPinned_ShouldUsePrimary() {
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertThat(poolOf(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readYourWrites_AfterMutation_ShouldPinCallerToPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(7L, "writer", Role.USER), null, List.of()));
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/categories");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        readYourWritesInterceptor.preHandle(read, response, null);
+        assertThat(poolOf(true)).isEqualTo("replica");
+        readYourWritesInterceptor.afterCompletion(read, response, null, null);
+
+        request("POST");
+        readYourWritesInterceptor.preHandle(read, response, null);
+        assertThat(poolOf(true)).isEqualTo("primary");
+        readYourWritesInterceptor.afterCompletion(read, response, null, null);
+        assertThat(poolOf(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void listingETag_AfterAnyCatalogWrite_ShouldReadListingFromPrimary() throws InterruptedException {
+        ListingETagInterceptor listings = new ListingETagInterceptor(catalogChangeCounter, Duration.ofMinutes(1),
+                CatalogChangeCounter.Table.PRODUCTS);
+        ListingETagInterceptor lagged = new ListingETagInterceptor(catalogChangeCounter, Duration.ofMillis(50),
+                CatalogChangeCounter.Table.PRODUCTS);
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/v1/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // written by another caller, who is the only one pinned by read-your-writes
+        catalogChangeCounter.changed(CatalogChangeCounter.Table.PRODUCTS);
+
+        assertThat(listings.preHandle(read, response, null)).isTrue();
+        assertThat(read.getAttribute(ListingETagInterceptor.ETAG)).isNotNull();
+        assertThat(poolOf(true)).isEqualTo("primary");
+        listings.afterCompletion(read, response, null, null);
+        assertThat(poolOf(true)).isEqualTo("replica");
+
+        // once the window has passed the replica is trusted again
+        Thread.sleep(100);
+        assertThat(lagged.preHandle(read, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(poolOf(true)).isEqualTo("replica");
+        lagged.afterCompletion(read, response, null, null);
+    }
+
+    @Test
+    void categoryCache_OnMissInReadOnlyTransaction_ShouldLoadFromPrimary() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        String[] loadedFrom = new String[1];
+
+        transaction.executeWithoutResult(status -> categoryCache.getPage(PageRequest.of(97, 3), pageable -> {
+            loadedFrom[0] = activePool();
+            return new PageImpl<>(List.of(), pageable, 0);
+        }));
+
+        assertThat(loadedFrom[0]).isEqualTo("primary");
+        assertThat(poolOf(true)).isEqualTo("replica");
+
+        // an outer pin outlives the load
+        ReplicaRoutingDataSource.pinToPrimary();
+        ReplicaRoutingDataSource.onPrimary(() -> null);
+        assertThat(poolOf(true)).isEqualTo("primary");
+    }
+}
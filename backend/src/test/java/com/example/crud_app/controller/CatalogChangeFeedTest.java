@@ -0,0 +1,157 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.repository.CatalogChangeRepository;
+import com.example.crud_app.repository.CatalogChangeSequenceRepository;
+import com.example.crud_app.service.CatalogChangeRelay;
+import com.example.crud_app.service.InMemoryCatalogChangeSink;
+import com.example.crud_app.util.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Catalog writes reach the change feed, the sink and the event stream only once committed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private CatalogChangeRelay catalogChangeRelay;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogChangeSequenceRepository catalogChangeSequenceRepository;
+
+    @Autowired
+    private InMemoryCatalogChangeSink sink;
+
+    private String bearer;
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        bearer = "Bearer " + jwtUtils.generateToken("admin", "ADMIN");
+        catalogChangeRelay.relay();
+        since = catalogChangeSequenceRepository.lastSequence();
+    }
+
+    private void createCategory(String name, int expectedStatus) throws Exception {
+        mockMvc.perform(post("/api/v1/categories")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Feed test\"}"))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    @Test
+    void getChanges_AfterCommittedWrite_ShouldReturnItOnce() throws Exception {
+        createCategory("Feed Gadgets", 201);
+        catalogChangeRelay.relay();
+
+        mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 1))
+                .andExpect(jsonPath("$.changes[0].entityType").value("CATEGORY"))
+                .andExpect(jsonPath("$.changes[0].changeType").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].payload.name").value("Feed Gadgets"))
+                .andExpect(jsonPath("$.nextSince").value(since + 1))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.resyncRequired").value(false));
+        assertThat(sink.published()).last()
+                .satisfies(change -> assertThat(change.sequence()).isEqualTo(since + 1));
+    }
+
+    @Test
+    void getChanges_AfterRejectedWrite_ShouldReturnNothing() throws Exception {
+        createCategory("Feed Duplicates", 201);
+        catalogChangeRelay.relay();
+        since = catalogChangeSequenceRepository.lastSequence();
+
+        createCategory("Feed Duplicates", 400);
+        catalogChangeRelay.relay();
+
+        mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(since));
+    }
+
+    @Test
+    void getChanges_AfterEverythingWasPurged_ShouldKeepNumberingAndAskToResync() throws Exception {
+        createCategory("Feed Purged", 201);
+        catalogChangeRelay.relay();
+        // as the retention purge does after a quiet period
+        catalogChangeRepository.deleteAll();
+
+        createCategory("Feed After Purge", 201);
+        catalogChangeRelay.relay();
+
+        mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since + 1))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 2))
+                .andExpect(jsonPath("$.resyncRequired").value(false));
+
+        catalogChangeRepository.deleteAll();
+
+        mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since + 1))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(since + 2))
+                .andExpect(jsonPath("$.resyncRequired").value(true));
+        mockMvc.perform(get("/api/v1/changes").param("since", String.valueOf(since + 2))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(false));
+    }
+
+    @Test
+    void streamChanges_ShouldPushCommittedWrites() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/v1/changes/stream")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        createCategory("Feed Live", 201);
+
+        String events = "";
+        for (int i = 0; i < 50 && !events.contains("Feed Live"); i++) {
+            Thread.sleep(100);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events)
+                .startsWith("event:connected")
+                .contains("event:change\ndata:{\"entityType\":\"CATEGORY\"")
+                .contains("\"changeType\":\"CREATED\"")
+                .contains("\"name\":\"Feed Live\"");
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.util.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Single resources carry strong ETags, listings weak ones; a matching If-None-Match is answered 304 with no body.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        bearer = "Bearer " + jwtUtils.generateToken("admin", "ADMIN");
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void expectNotModified(String url, String etag) throws Exception {
+        mockMvc.perform(get(url)
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProductById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        String etag = etagOf("/api/v1/products/1");
+
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+        expectNotModified("/api/v1/products/1", etag);
+    }
+
+    @Test
+    void getCategoryById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        String etag = etagOf("/api/v1/categories/1");
+
+        assertThat(etag).startsWith("\"");
+        expectNotModified("/api/v1/categories/1", etag);
+    }
+
+    @Test
+    void getCategoryById_WithStaleETag_ShouldReturnBody() throws Exception {
+        mockMvc.perform(get("/api/v1/categories/1")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void listings_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        for (String url : new String[] {"/api/v1/products?size=5", "/api/v1/products/search?name=o",
+                "/api/v1/categories", "/api/v1/categories/1/products"}) {
+            String etag = etagOf(url);
+
+            assertThat(etag).startsWith("W/\"");
+            expectNotModified(url, etag);
+        }
+    }
+
+    @Test
+    void listings_WhenRequestFails_ShouldNotReturnETag() throws Exception {
+        mockMvc.perform(get("/api/v1/categories/999999/products").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/v1/products/scroll?cursor=garbage").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void listings_ShouldDistinguishQueries() throws Exception {
+        assertThat(etagOf("/api/v1/products?page=0")).isNotEqualTo(etagOf("/api/v1/products?page=1"));
+    }
+
+    @Test
+    void categoryListing_AfterCategoryWrite_ShouldReturnNewETag() throws Exception {
+        String before = etagOf("/api/v1/categories");
+
+        // rewrite Sports with its current values: the data is unchanged but the table was written
+        mockMvc.perform(put("/api/v1/categories/5")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Sports\",\"description\":\"Sports equipment and accessories\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(etagOf("/api/v1/categories")).isNotEqualTo(before);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.util.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * The request principal is built from the token claims: resolving the caller never queries the users table.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // the outbox relay would add its own statements to the counts
+        "app.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+class CurrentUserTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getCurrentUser_ShouldComeFromTokenWithoutQueries() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String bearer = "Bearer " + jwtUtils.generateToken(42L, "alice", "ADMIN");
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.username").value("alice"))
+                .andExpect(jsonPath("$.role").value("ADMIN"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void getCurrentUser_WithoutToken_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/users/me"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.util.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * The Prometheus scrape is public and carries the per-endpoint, repository, JWT, BCrypt and exception metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void prometheus_ShouldExposeApplicationMetrics() throws Exception {
+        String bearer = "Bearer " + jwtUtils.generateToken("user", "USER");
+        mockMvc.perform(get("/api/v1/products/1").header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/products/999").header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("handler=\"ProductController#getProductById\"")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hikaricp_connections_active{")
+                .contains("jwt_validation_seconds_count{")
+                .contains("auth_password_verify_seconds_count{")
+                .contains("app_exceptions_total{application=\"crud-app\",type=\"ProductNotFoundException\"}");
+    }
+}
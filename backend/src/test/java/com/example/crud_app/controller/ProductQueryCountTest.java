@@ -0,0 +1,86 @@
+package com.example.crud_app.controller;
+
+import com.example.crud_app.util.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Guards the product read endpoints against N+1 queries: the number of JDBC statements
+ * per request must not grow with the number of distinct categories on the page.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // the outbox relay would add its own statements to the counts
+        "app.outbox.relay.enabled=false"
+})
+@AutoConfigureMockMvc
+class ProductQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        bearer = "Bearer " + jwtUtils.generateToken("user", "USER");
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", bearer))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void getAllProducts_ShouldRunPageAndCountQueriesOnly() throws Exception {
+        assertThat(statementsFor("/api/v1/products?size=20")).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getProductsByCategory_ShouldRunPageAndCountQueriesOnly() throws Exception {
+        assertThat(statementsFor("/api/v1/products/category/1?size=2")).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void searchProducts_ShouldRunPageAndCountQueriesOnly() throws Exception {
+        assertThat(statementsFor("/api/v1/products/search?minPrice=10&size=20")).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getProductById_ShouldRunOneQuery() throws Exception {
+        assertThat(statementsFor("/api/v1/products/1")).isEqualTo(1);
+    }
+
+    @Test
+    void getProductsByIds_ShouldRunOneQuery() throws Exception {
+        assertThat(statementsFor("/api/v1/products/batch?ids=1,3,5,7,9,999")).isEqualTo(1);
+    }
+
+    @Test
+    void scrollProducts_ShouldRunOneQuery() throws Exception {
+        assertThat(statementsFor("/api/v1/products/scroll?size=20&sort=price")).isEqualTo(1);
+        assertThat(statementsFor("/api/v1/products/category/1/scroll")).isEqualTo(1);
+        assertThat(statementsFor("/api/v1/products/search/scroll?name=o")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtils jwtUtils;
+    private JwtTokenCache jwtTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "mySecretKeyForJwtTokensMustBeAtLeast32Characters");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        jwtTokenCache = new JwtTokenCache(jwtUtils, meterRegistry, true, 100);
+    }
+
+    private String tokenExpiringIn(int expirationMs) {
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", expirationMs);
+        return jwtUtils.generateToken(1L, "admin", "ADMIN");
+    }
+
+    private long verifications(String result) {
+        return meterRegistry.get("jwt.validation").tag("result", result).timer().count();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt.verified.tokens").tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    void verify_WhenTokenSeenBefore_ShouldSkipSignatureVerification() {
+        String token = tokenExpiringIn(60_000);
+
+        Optional<Claims> first = jwtTokenCache.verify(token);
+        Optional<Claims> second = jwtTokenCache.verify(token);
+
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().getSubject()).isEqualTo("admin");
+        assertThat(verifications("valid")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+        assertThat(cacheGets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WhenCachedTokenExpires_ShouldVerifyAgainAndReject() throws InterruptedException {
+        String token = tokenExpiringIn(1_000);
+        Claims claims = jwtTokenCache.verify(token).orElseThrow();
+
+        // exp has second precision, so the token may lapse anywhere within the next second
+        long untilExpiry = claims.getExpiration().getTime() - System.currentTimeMillis();
+        Thread.sleep(Math.max(untilExpiry, 0) + 50);
+
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+        assertThat(verifications("valid")).isEqualTo(1);
+        assertThat(verifications("invalid")).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WhenTokenIsTampered_ShouldReject() {
+        String token = tokenExpiringIn(60_000);
+        assertThat(jwtTokenCache.verify(token)).isPresent();
+
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + flipped + token.substring(signatureStart + 1);
+
+        assertThat(jwtTokenCache.verify(tampered)).isEmpty();
+        assertThat(jwtTokenCache.verify(tampered)).isEmpty();
+        assertThat(verifications("invalid")).isEqualTo(2);
+    }
+
+    @Test
+    void verify_WhenTokenAlreadyExpired_ShouldRejectAndNotCache() {
+        String token = tokenExpiringIn(-60_000);
+
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+        assertThat(jwtTokenCache.verify(token)).isEmpty();
+        assertThat(verifications("invalid")).isEqualTo(2);
+        assertThat(cacheGets("hit")).isZero();
+    }
+}
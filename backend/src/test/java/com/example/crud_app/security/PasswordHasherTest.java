@@ -0,0 +1,108 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    private PasswordHasher hasher(PasswordEncoder encoder, int strength, int threads, int queue, boolean cache) {
+        passwordHasher = new PasswordHasher(encoder, meterRegistry, strength, threads, queue,
+                cache, Duration.ofMinutes(1), 100);
+        return passwordHasher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void matches_ShouldCheckPasswordOnPoolAndRecordTime() {
+        PasswordHasher hasher = hasher(new BCryptPasswordEncoder(4), 4, 1, 10, false);
+        String hash = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", hash)).isTrue();
+        assertThat(hasher.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.verify").tag("result", "match").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.hash").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void needsRehash_WhenStoredCostDiffersFromStrength_ShouldReturnTrue() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("secret");
+        String cost5 = new BCryptPasswordEncoder(5).encode("secret");
+        PasswordHasher hasher = hasher(new BCryptPasswordEncoder(5), 5, 1, 10, false);
+
+        assertThat(hasher.needsRehash(cost4)).isTrue();
+        assertThat(hasher.needsRehash(cost5)).isFalse();
+        assertThat(hasher.needsRehash("{noop}secret")).isFalse();
+    }
+
+    @Test
+    void matches_WhenCacheEnabled_ShouldVerifyEachCredentialOnce() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("secret", "hash")).thenReturn(true);
+        when(encoder.matches("wrong", "hash")).thenReturn(false);
+        PasswordHasher hasher = hasher(encoder, 10, 1, 10, true);
+
+        assertThat(hasher.matches("secret", "hash")).isTrue();
+        assertThat(hasher.matches("secret", "hash")).isTrue();
+        assertThat(hasher.matches("wrong", "hash")).isFalse();
+        assertThat(hasher.matches("wrong", "hash")).isFalse();
+
+        verify(encoder, times(1)).matches("secret", "hash");
+        verify(encoder, times(2)).matches("wrong", "hash");
+        // a new stored hash is a new key
+        assertThatCode(() -> hasher.matches("secret", "rehashed")).doesNotThrowAnyException();
+        verify(encoder).matches("secret", "rehashed");
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldThrowBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        PasswordHasher hasher = hasher(encoder, 10, 1, 1, false);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "hash"));
+        await(() -> meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value() == 1);
+
+        assertThatThrownBy(() -> hasher.matches("c", "hash")).isInstanceOf(PasswordHashingBusyException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.crud_app.security;
+
+import com.example.crud_app.enums.RateLimitGroup;
+import com.example.crud_app.enums.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private RateLimitFilter filter(RateLimitGroup group, RateLimitProperties.Limit limit) {
+        return new RateLimitFilter(new RateLimitProperties(true, 100, Duration.ofMinutes(1), Map.of(group, limit)),
+                objectMapper, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(1L, username, Role.USER), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tryTake_ShouldAllowBurstThenRefillAtRate() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isEqualTo(second / 2);
+        assertThat(bucket.tryTake(second / 2)).isZero();
+        assertThat(bucket.tryTake(second / 2)).isPositive();
+        // a long idle bucket holds no more than burst tokens
+        assertThat(bucket.tryTake(100 * second)).isZero();
+        assertThat(bucket.tryTake(100 * second)).isZero();
+        assertThat(bucket.tryTake(100 * second)).isZero();
+        assertThat(bucket.tryTake(100 * second)).isPositive();
+    }
+
+    @Test
+    void groupOf_ShouldClassifyApiRequests() {
+        assertThat(RateLimitFilter.groupOf(request("POST", "/api/v1/auth/login"))).isEqualTo(RateLimitGroup.LOGIN);
+        assertThat(RateLimitFilter.groupOf(request("GET", "/api/v1/products/search/ranked"))).isEqualTo(RateLimitGroup.SEARCH);
+        assertThat(RateLimitFilter.groupOf(request("GET", "/api/v1/categories/1"))).isEqualTo(RateLimitGroup.READ);
+        assertThat(RateLimitFilter.groupOf(request("DELETE", "/api/v1/products/1"))).isEqualTo(RateLimitGroup.WRITE);
+        assertThat(RateLimitFilter.groupOf(request("GET", "/api/v1/users/export"))).isEqualTo(RateLimitGroup.EXPORT);
+        MockHttpServletRequest streamed = request("GET", "/api/v1/categories/1/products");
+        streamed.setParameter("stream", "true");
+        assertThat(RateLimitFilter.groupOf(streamed)).isEqualTo(RateLimitGroup.EXPORT);
+        assertThat(RateLimitFilter.groupOf(request("GET", "/api/v1/changes/stream"))).isNull();
+        assertThat(RateLimitFilter.groupOf(request("OPTIONS", "/api/v1/products"))).isNull();
+        assertThat(RateLimitFilter.groupOf(request("GET", "/actuator/prometheus"))).isNull();
+    }
+
+    @Test
+    void doFilter_WhenClientExceedsRate_ShouldReturn429PerClient() throws Exception {
+        RateLimitFilter filter = filter(RateLimitGroup.SEARCH, new RateLimitProperties.Limit(0.5, 2, 0));
+        authenticate("noisy");
+
+        assertThat(perform(filter, request("GET", "/api/v1/products/search"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, request("GET", "/api/v1/products/search"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = perform(filter, request("GET", "/api/v1/products/search"), new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("\"error\":\"Too Many Requests\"");
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("group", "search").tag("reason", "rate").counter().count())
+                .isEqualTo(1);
+
+        // other clients and other groups have their own limits
+        authenticate("quiet");
+        assertThat(perform(filter, request("GET", "/api/v1/products/search"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        SecurityContextHolder.clearContext();
+        assertThat(perform(filter, request("GET", "/api/v1/products/search"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, request("GET", "/api/v1/products/1"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_WhenGroupAtMaxConcurrent_ShouldReturn503() throws Exception {
+        RateLimitFilter filter = filter(RateLimitGroup.WRITE, new RateLimitProperties.Limit(0, 0, 1));
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        // the second request arrives while the first is still being handled
+        MockHttpServletResponse first = perform(filter, request("POST", "/api/v1/products"), (request, response) ->
+                nested[0] = perform(filter, request("PUT", "/api/v1/products/1"), new MockFilterChain()));
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("group", "write").tag("reason", "concurrency").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limit.in.flight").tag("group", "write").gauge().value()).isZero();
+        assertThat(perform(filter, request("DELETE", "/api/v1/products/1"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_WhenResponseIsStreamed_ShouldHoldSlotUntilStreamEnds() throws Exception {
+        RateLimitFilter filter = filter(RateLimitGroup.EXPORT, new RateLimitProperties.Limit(0, 0, 1));
+        MockHttpServletRequest export = request("GET", "/api/v1/products/export");
+        export.setAsyncSupported(true);
+
+        MockHttpServletResponse first = perform(filter, export, (request, response) -> request.startAsync());
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("rate.limit.in.flight").tag("group", "export").gauge().value()).isEqualTo(1);
+        assertThat(perform(filter, request("GET", "/api/v1/users/export"), new MockFilterChain()).getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+
+        assertThat(meterRegistry.get("rate.limit.in.flight").tag("group", "export").gauge().value()).isZero();
+        assertThat(perform(filter, request("GET", "/api/v1/users/export"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.AuthResponse;
+import com.example.crud_app.dto.LoginDTO;
+import com.example.crud_app.entity.User;
+import com.example.crud_app.enums.Role;
+import com.example.crud_app.exception.InvalidCredentialsException;
+import com.example.crud_app.repository.UserRepository;
+import com.example.crud_app.security.PasswordHasher;
+import com.example.crud_app.util.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).username("admin").password("$2a$10$hash").role(Role.ADMIN).build();
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void authenticate_WhenPasswordMatches_ShouldReturnToken() {
+        when(passwordHasher.matches("123", "$2a$10$hash")).thenReturn(true);
+        when(jwtUtils.generateToken(1L, "admin", "ADMIN")).thenReturn("token");
+
+        AuthResponse result = authService.authenticate(new LoginDTO("admin", "123"));
+
+        assertThat(result.token()).isEqualTo("token");
+        verify(userRepository, never()).updatePasswordHash(any(), any(), any());
+    }
+
+    @Test
+    void authenticate_WhenStoredCostDiffers_ShouldRehashPassword() {
+        when(passwordHasher.matches("123", "$2a$10$hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("$2a$10$hash")).thenReturn(true);
+        when(passwordHasher.encode("123")).thenReturn("$2a$12$rehash");
+
+        authService.authenticate(new LoginDTO("admin", "123"));
+
+        verify(userRepository).updatePasswordHash(1L, "$2a$10$hash", "$2a$12$rehash");
+    }
+
+    @Test
+    void authenticate_WhenPasswordWrong_ShouldThrowWithoutRehash() {
+        when(passwordHasher.matches("bad", "$2a$10$hash")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.authenticate(new LoginDTO("admin", "bad")))
+                .isInstanceOf(InvalidCredentialsException.class);
+        verify(passwordHasher, never()).encode(anyString());
+    }
+}
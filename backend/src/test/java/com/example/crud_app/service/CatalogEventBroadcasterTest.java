@@ -0,0 +1,165 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CatalogEventDTO;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.exception.EventStreamFullException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogEventBroadcasterTest {
+
+    private static final Pattern EVENT_NAME = Pattern.compile("event:(\\w+)");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+    private CatalogEventBroadcaster broadcaster;
+
+    // one sender thread, so a blocked send holds up every other subscriber
+    private CatalogEventBroadcaster broadcaster(int bufferSize, int maxSubscribers, Duration sendTimeout) {
+        broadcaster = new CatalogEventBroadcaster(new ObjectMapper(), meterRegistry, bufferSize, maxSubscribers, 1,
+                Duration.ofMinutes(1), sendTimeout) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitters.poll();
+            }
+        };
+        return broadcaster;
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void publish_WhenSubscriberBufferOverflows_ShouldReplaceItWithResync() throws InterruptedException {
+        CatalogEventBroadcaster broadcaster = broadcaster(2, 10, Duration.ofMinutes(1));
+        FakeEmitter slow = new FakeEmitter(new CountDownLatch(1), false);
+        emitters.add(slow);
+
+        broadcaster.subscribe();
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // the "connected" send is blocked; 5 changes overflow a buffer of 2 twice
+        broadcaster.publish(changes(5));
+        slow.release.countDown();
+
+        await(() -> slow.events.size() == 2);
+        assertThat(slow.events).containsExactly("connected", CatalogEventBroadcaster.RESYNC_EVENT);
+        assertThat(meterRegistry.get("catalog.events.dropped").counter().count()).isEqualTo(4);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeat_WhenSendStaysBlocked_ShouldInterruptItAndDropSubscriber() throws InterruptedException {
+        CatalogEventBroadcaster broadcaster = broadcaster(16, 10, Duration.ofMillis(50));
+        FakeEmitter stalled = new FakeEmitter(new CountDownLatch(1), false);
+        FakeEmitter healthy = new FakeEmitter(null, false);
+        emitters.add(stalled);
+        emitters.add(healthy);
+
+        broadcaster.subscribe();
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        broadcaster.subscribe();
+        Thread.sleep(100);
+        assertThat(healthy.events).isEmpty();
+
+        broadcaster.heartbeat();
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("catalog.events.stalled").counter().count()).isEqualTo(1);
+        await(() -> stalled.interrupted);
+        // the freed sender thread goes on to the other subscriber
+        await(() -> healthy.events.contains("connected"));
+        assertThat(stalled.events).isEmpty();
+    }
+
+    @Test
+    void subscribe_WhenMaxSubscribersOpen_ShouldRefuseUntilOneCloses() throws InterruptedException {
+        CatalogEventBroadcaster broadcaster = broadcaster(16, 1, Duration.ofMinutes(1));
+        emitters.add(new FakeEmitter(null, true));
+        emitters.add(new FakeEmitter(null, false));
+        emitters.add(new FakeEmitter(null, false));
+
+        // the first client is gone before its first event, which frees its slot
+        broadcaster.subscribe();
+        await(() -> broadcaster.subscriberCount() == 0);
+        broadcaster.subscribe();
+
+        assertThatThrownBy(broadcaster::subscribe)
+                .isInstanceOf(EventStreamFullException.class);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    private static List<CatalogEventDTO> changes(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> new CatalogEventDTO(CatalogEntityType.PRODUCT, (long) id, ChangeType.UPDATED, null))
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    /*
+     * Records the names of the events sent to it; sends block until release opens (like a client that stopped
+     * reading) or fail as if the client had disconnected
+     */
+    private static class FakeEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private final boolean disconnected;
+        private volatile boolean interrupted;
+
+        FakeEmitter(CountDownLatch release, boolean disconnected) {
+            this.release = release;
+            this.disconnected = disconnected;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    throw new IOException("Write interrupted", e);
+                }
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            Matcher name = EVENT_NAME.matcher(text);
+            events.add(name.find() ? name.group(1) : "heartbeat");
+        }
+    }
+}
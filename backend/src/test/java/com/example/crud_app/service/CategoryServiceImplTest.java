@@ -3,8 +3,13 @@ package com.example.crud_app.service;
 import com.example.crud_app.dto.CategoryCreateDTO;
 import com.example.crud_app.dto.CategoryDTO;
 import com.example.crud_app.dto.CategoryUpdateDTO;
-import com.example.crud_app.dto.CategoryWithProductsDTO;
+import com.example.crud_app.dto.CategoryWithProductsPageDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.Versioned;
 import com.example.crud_app.entity.Category;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
 import com.example.crud_app.exception.CategoryNotFoundException;
 import com.example.crud_app.exception.DuplicateCategoryNameException;
 import com.example.crud_app.mapper.CategoryMapper;
@@ -12,16 +17,22 @@ import com.example.crud_app.repository.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -37,9 +48,25 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryMapper categoryMapper;
 
-    @InjectMocks
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductPriceSummary productPriceSummary;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CatalogChangeCounter catalogChangeCounter;
+
+    @Mock
+    private CatalogOutbox catalogOutbox;
+
     private CategoryServiceImpl categoryService;
 
+    private CategoryCache categoryCache;
+
     private Category testCategory;
     private CategoryDTO testCategoryDTO;
     private CategoryCreateDTO testCreateDTO;
@@ -48,6 +75,11 @@ class CategoryServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // real cache over the mocked repository, so reads go through it as in production
+        categoryCache = new CategoryCache(categoryRepository, categoryMapper, 100, Duration.ofMinutes(10));
+        categoryService = new CategoryServiceImpl(categoryRepository, categoryMapper, categoryCache,
+                productSearchIndex, productPriceSummary, productService, catalogChangeCounter, catalogOutbox);
+
         testCategory = Category.builder()
                 .id(1L)
                 .name("Electronics")
@@ -99,17 +131,61 @@ class CategoryServiceImplTest {
     }
 
     @Test
-    void getCategoryWithProducts_ShouldReturnCategoryWithProductsDTO() {
+    void getCategoryWithProducts_ShouldReturnCategoryWithOneSliceOfProducts() {
         // Given
-        CategoryWithProductsDTO expected = new CategoryWithProductsDTO(1L, "Electronics", "Description", List.of());
+        CursorPage<ProductDTO> products = new CursorPage<>(
+                List.of(new ProductDTO(1L, "Laptop", new BigDecimal("999.99"), 1L, "Electronics")), 1, true, "next");
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-        when(categoryMapper.toDTOWithProducts(testCategory)).thenReturn(expected);
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO);
+        when(productService.scrollProductsByCategory(1L, null, 1, "id")).thenReturn(products);
 
         // When
-        CategoryWithProductsDTO result = categoryService.getCategoryWithProducts(1L);
+        CategoryWithProductsPageDTO result = categoryService.getCategoryWithProducts(1L, null, 1, "id");
 
         // Then
-        assertThat(result).isEqualTo(expected);
+        assertThat(result.id()).isEqualTo(1L);
+        assertThat(result.name()).isEqualTo("Electronics");
+        assertThat(result.products()).isEqualTo(products);
+        verify(categoryMapper, never()).toDTOWithProducts(any());
+    }
+
+    @Test
+    void getCategoryWithProducts_WhenNotExists_ShouldThrowCategoryNotFoundException() {
+        // Given
+        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.getCategoryWithProducts(999L, null, 20, "id"))
+                .isInstanceOf(CategoryNotFoundException.class);
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void getVersionedCategoryById_ShouldTagWithCachedCategoryVersion() {
+        // Given
+        testCategory.setVersion(4L);
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryMapper.toDTO(any(Category.class))).thenReturn(testCategoryDTO);
+
+        // When
+        Versioned<CategoryDTO> result = categoryService.getVersionedCategoryById(1L);
+        Versioned<CategoryDTO> cached = categoryService.getVersionedCategoryById(1L);
+
+        // Then
+        assertThat(result.version()).isEqualTo("4");
+        assertThat(cached.version()).isEqualTo("4");
+        assertThat(result.body().get()).isEqualTo(testCategoryDTO);
+        verify(categoryRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getVersionedCategoryById_WhenNotExists_ShouldThrowCategoryNotFoundException() {
+        // Given
+        when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.getVersionedCategoryById(999L))
+                .isInstanceOf(CategoryNotFoundException.class);
     }
 
     @Test
@@ -168,6 +244,10 @@ class CategoryServiceImplTest {
 
         // Then
         verify(categoryRepository).deleteById(1L);
+        verify(productSearchIndex).removeCategory(1L);
+        verify(productPriceSummary).removeCategory(1L);
+        verify(catalogChangeCounter).changed(CatalogChangeCounter.Table.CATEGORIES, CatalogChangeCounter.Table.PRODUCTS);
+        verify(catalogOutbox).record(CatalogEntityType.CATEGORY, 1L, ChangeType.DELETED, null);
     }
 
     @Test
@@ -179,4 +259,100 @@ class CategoryServiceImplTest {
         assertThatThrownBy(() -> categoryService.deleteCategory(999L))
                 .isInstanceOf(CategoryNotFoundException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void scrollCategories_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        // Given
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Electronics");
+        keys.put("id", 1L);
+        Window<Category> window = Window.from(List.of(testCategory), index -> ScrollPosition.forward(keys), true);
+        when(categoryRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO);
+
+        // When
+        CursorPage<CategoryDTO> result = categoryService.scrollCategories(null, 10, "name");
+
+        // Then
+        assertThat(result.content()).containsExactly(testCategoryDTO);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void getCategoryById_WhenCalledTwice_ShouldReadDatabaseOnce() {
+        // Given
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO);
+
+        // When
+        categoryService.getCategoryById(1L);
+        CategoryDTO result = categoryService.getCategoryById(1L);
+
+        // Then
+        assertThat(result).isEqualTo(testCategoryDTO);
+        verify(categoryRepository, times(1)).findById(1L);
+        assertThat(categoryService.getCacheStats().get("byId").hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getCategoryById_WhenInvalidatedWhileLoading_ShouldNotCacheTheOldState() {
+        // Given: a write commits while the row from before it is being read
+        when(categoryRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    categoryCache.invalidate(1L);
+                    return Optional.of(testCategory);
+                })
+                .thenReturn(Optional.of(testCategory));
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO);
+
+        // When
+        categoryService.getCategoryById(1L);
+        categoryService.getCategoryById(1L);
+
+        // Then
+        verify(categoryRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void updateCategory_ShouldInvalidateCachedCategory() {
+        // Given
+        CategoryDTO updatedDTO = new CategoryDTO(1L, "Updated Electronics", "Updated description");
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO, updatedDTO, updatedDTO);
+        when(categoryRepository.save(testCategory)).thenReturn(testCategory);
+        categoryService.getCategoryById(1L);
+
+        // When
+        categoryService.updateCategory(1L, testUpdateDTO);
+        CategoryDTO result = categoryService.getCategoryById(1L);
+
+        // Then
+        assertThat(result).isEqualTo(updatedDTO);
+    }
+
+    @Test
+    void getCategoryByName_WhenNotExists_ShouldThrowException() {
+        // Given
+        when(categoryRepository.findByName("Unknown")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.getCategoryByName("Unknown"))
+                .isInstanceOf(CategoryNotFoundException.class);
+    }
+
+    @Test
+    void searchCategoryRanked_ShouldUsePortableQuery() {
+        // Given
+        when(categoryRepository.searchRanked("elec", pageable))
+                .thenReturn(new PageImpl<>(List.of(testCategory), pageable, 1));
+        when(categoryMapper.toDTO(testCategory)).thenReturn(testCategoryDTO);
+
+        // When
+        Page<CategoryDTO> result = categoryService.searchCategoryRanked("elec", pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testCategoryDTO);
+        verify(categoryRepository, never()).searchRankedTrigram(any(), any());
+    }
+}
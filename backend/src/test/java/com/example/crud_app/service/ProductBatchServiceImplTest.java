@@ -0,0 +1,147 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ProductBatchOperation;
+import com.example.crud_app.dto.ProductBatchReport;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.enums.BatchOperationType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.exception.BatchTooLargeException;
+import com.example.crud_app.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBatchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CatalogChangeCounter catalogChangeCounter;
+
+    @Mock
+    private ProductPriceSummary productPriceSummary;
+
+    @Mock
+    private CatalogOutbox catalogOutbox;
+
+    private ProductBatchServiceImpl productBatchService;
+
+    private Category electronics;
+    private Product laptop;
+    private Product phone;
+
+    @BeforeEach
+    void setUp() {
+        productBatchService = new ProductBatchServiceImpl(productRepository, categoryCache, jdbcTemplate,
+                new TransactionTemplate(transactionManager), productSearchIndex, catalogChangeCounter, productPriceSummary,
+                catalogOutbox, 3);
+
+        electronics = Category.builder().id(1L).name("Electronics").build();
+        laptop = Product.builder().id(1L).name("Laptop").price(new BigDecimal("999.99")).category(electronics).build();
+        phone = Product.builder().id(2L).name("Phone").price(new BigDecimal("499.99")).category(electronics).build();
+    }
+
+    private static ProductBatchOperation op(BatchOperationType type, Long id, String name, String price, Long categoryId) {
+        return new ProductBatchOperation(type, id, name, price == null ? null : new BigDecimal(price), categoryId);
+    }
+
+    @Test
+    void applyOperations_WithValidOperations_ShouldApplyThemInBatches() {
+        when(productRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(laptop, phone));
+        when(productRepository.findByNameIn(anyCollection()))
+                .thenReturn(List.of(phone))
+                .thenReturn(List.of(Product.builder().id(7L).name("Phone").build()));
+        when(categoryCache.findById(1L)).thenReturn(Optional.of(electronics));
+
+        // delete Phone, reuse its name for a new product, reprice Laptop
+        ProductBatchReport report = productBatchService.applyOperations(List.of(
+                op(BatchOperationType.DELETE, 2L, null, null, null),
+                op(BatchOperationType.CREATE, null, "Phone", "399.00", 1L),
+                op(BatchOperationType.UPDATE, 1L, null, "899.99", null)));
+
+        assertThat(report.applied()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+        assertThat(report.results().get(1).id()).isEqualTo(7L);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        verify(productSearchIndex).remove(2L);
+        verify(productSearchIndex).put(new ProductDTO(1L, "Laptop", new BigDecimal("899.99"), 1L, "Electronics"));
+        verify(productSearchIndex).put(new ProductDTO(7L, "Phone", new BigDecimal("399.00"), 1L, "Electronics"));
+        verify(catalogChangeCounter).changed(CatalogChangeCounter.Table.PRODUCTS);
+        verify(catalogOutbox).recordAll(argThat(changes -> changes.size() == 3
+                && changes.get(0).changeType() == ChangeType.DELETED
+                && changes.get(2).changeType() == ChangeType.CREATED));
+    }
+
+    @Test
+    void applyOperations_WithInvalidOperations_ShouldReportAndSkipThem() {
+        when(productRepository.findByIdIn(Set.of(1L, 99L))).thenReturn(List.of(laptop));
+        when(productRepository.findByNameIn(anyCollection())).thenReturn(List.of(laptop));
+        when(categoryCache.findById(1L)).thenReturn(Optional.of(electronics));
+
+        ProductBatchReport report = productBatchService.applyOperations(List.of(
+                op(BatchOperationType.CREATE, null, "Laptop", "10", 1L),
+                op(BatchOperationType.UPDATE, 99L, null, "10", null),
+                op(BatchOperationType.UPDATE, 1L, null, "10.001", null)));
+
+        assertThat(report.applied()).isZero();
+        assertThat(report.failed()).isEqualTo(3);
+        assertThat(report.results()).extracting(result -> result.error()).containsExactly(
+                "Product with name'Laptop' already exists",
+                "Product not found with id:99",
+                "Price must be between 0 and 9999.99 with at most 2 decimals");
+        verifyNoInteractions(jdbcTemplate, catalogChangeCounter, catalogOutbox);
+    }
+
+    @Test
+    void applyOperations_WhenDatabaseRejectsBatch_ShouldReportEveryOperation() {
+        when(productRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(laptop));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        ProductBatchReport report = productBatchService.applyOperations(List.of(
+                op(BatchOperationType.DELETE, 1L, null, null, null)));
+
+        assertThat(report.applied()).isZero();
+        assertThat(report.results().get(0).error()).contains("Batch rejected by the database");
+    }
+
+    @Test
+    void applyOperations_WhenOverLimit_ShouldThrow() {
+        ProductBatchOperation delete = op(BatchOperationType.DELETE, 1L, null, null, null);
+
+        assertThatThrownBy(() -> productBatchService.applyOperations(List.of(delete, delete, delete, delete)))
+                .isInstanceOf(BatchTooLargeException.class);
+        verifyNoInteractions(productRepository, jdbcTemplate);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.ProductImportBatchDTO;
+import com.example.crud_app.dto.ProductImportReport;
+import com.example.crud_app.dto.ProductImportRow;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.repository.CategoryRepository;
+import com.example.crud_app.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CatalogChangeCounter catalogChangeCounter;
+
+    @Mock
+    private ProductPriceSummary productPriceSummary;
+
+    @Mock
+    private CatalogOutbox catalogOutbox;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = new ProductImportServiceImpl(productRepository, categoryRepository,
+                jdbcTemplate, new TransactionTemplate(transactionManager), productSearchIndex, catalogChangeCounter, productPriceSummary,
+                catalogOutbox, 2);
+
+        when(productRepository.findAllNames()).thenReturn(List.of("Laptop"));
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                Category.builder().id(1L).name("Electronics").build()));
+    }
+
+    private static ProductImportRow row(long line, String name, String price, String categoryId, String categoryName) {
+        return new ProductImportRow(line, name, price, categoryId, categoryName, null);
+    }
+
+    @Test
+    void importProducts_WithValidRows_ShouldInsertInBatches() {
+        List<ProductImportRow> rows = List.of(
+                row(1, "Phone", "499.99", "1", null),
+                row(2, "Tablet", "299", null, "Electronics"),
+                row(3, "Watch", "199.50", "1", null));
+
+        ProductImportReport report = productImportService.importProducts(rows.iterator());
+
+        assertThat(report.processed()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.failed()).isZero();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verifyNoMoreInteractions(jdbcTemplate);
+        verify(productSearchIndex).rebuild();
+        verify(catalogOutbox).record(CatalogEntityType.PRODUCT, 0L, ChangeType.IMPORTED, new ProductImportBatchDTO(2));
+        verify(catalogOutbox).record(CatalogEntityType.PRODUCT, 0L, ChangeType.IMPORTED, new ProductImportBatchDTO(1));
+    }
+
+    @Test
+    void importProducts_WithInvalidRows_ShouldReportEachOne() {
+        List<ProductImportRow> rows = List.of(
+                row(1, "Laptop", "999.99", "1", null),
+                row(2, "Phone", "abc", "1", null),
+                row(3, "Phone", "10", "99", null),
+                row(4, "Phone", "10", "1", null),
+                row(5, "Phone", "20", "1", null),
+                new ProductImportRow(6, null, null, null, null, "Malformed JSON"));
+
+        ProductImportReport report = productImportService.importProducts(rows.iterator());
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(5);
+        assertThat(report.errors())
+                .extracting(error -> error.line())
+                .containsExactly(1L, 2L, 3L, 5L, 6L);
+        assertThat(report.errors().get(2).message()).contains("Category not found with id:99");
+    }
+
+    @Test
+    void importProducts_WhenBatchFails_ShouldRetryRowsAndReportOnlyOffendingOnes() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenReturn(new int[]{1});
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenReturn(1);
+
+        ProductImportReport report = productImportService.importProducts(List.of(
+                row(1, "Phone", "10", "1", null),
+                row(2, "Tablet", "20", "1", null),
+                // the failed row did not take its name
+                row(3, "Phone", "15", "1", null)).iterator());
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+                .satisfies(error -> {
+                    assertThat(error.line()).isEqualTo(1);
+                    assertThat(error.message()).contains("Insert failed: value too long");
+                });
+        // only committed rows are announced
+        verify(catalogOutbox, times(2)).record(CatalogEntityType.PRODUCT, 0L, ChangeType.IMPORTED, new ProductImportBatchDTO(1));
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CategoryPriceStatsDTO;
+import com.example.crud_app.dto.PriceBucketDTO;
+import com.example.crud_app.dto.ProductPriceView;
+import com.example.crud_app.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceSummaryTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductPriceSummary productPriceSummary;
+
+    @BeforeEach
+    void setUp() {
+        productPriceSummary = new ProductPriceSummary(productRepository, transactionManager, true);
+    }
+
+    private static ProductPriceView row(long id, long categoryId, String price) {
+        ProductPriceView view = mock(ProductPriceView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCategoryId()).thenReturn(categoryId);
+        when(view.getPrice()).thenReturn(new BigDecimal(price));
+        return view;
+    }
+
+    private CategoryPriceStatsDTO statsOf(long categoryId, int buckets) {
+        List<CategoryPriceStatsDTO> stats = productPriceSummary.stats(categoryId, buckets).orElseThrow();
+        assertThat(stats).hasSize(1);
+        return stats.get(0);
+    }
+
+    @Test
+    void stats_BeforeBuild_ShouldBeEmptySoCallersFallBack() {
+        assertThat(productPriceSummary.stats(null, 10)).isEmpty();
+    }
+
+    @Test
+    void stats_ShouldAggregateGroupedPricesIntoHistogram() {
+        List<ProductPriceView> rows = List.of(row(1, 1, "10.00"), row(2, 1, "10.00"), row(3, 1, "20.00"), row(4, 1, "50.00"));
+        when(productRepository.findAllPrices()).thenReturn(rows);
+        productPriceSummary.rebuild();
+
+        CategoryPriceStatsDTO stats = statsOf(1, 4);
+
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.minPrice()).isEqualByComparingTo("10.00");
+        assertThat(stats.maxPrice()).isEqualByComparingTo("50.00");
+        assertThat(stats.avgPrice()).isEqualByComparingTo("22.50");
+        assertThat(stats.histogram()).extracting(PriceBucketDTO::count).containsExactly(2L, 1L, 0L, 1L);
+        assertThat(stats.histogram().get(1).from()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void writes_ShouldUpdateSummaryWithoutRebuild() {
+        List<ProductPriceView> rows = List.of(row(1, 1, "10.00"), row(2, 2, "30.00"));
+        when(productRepository.findAllPrices()).thenReturn(rows);
+        productPriceSummary.rebuild();
+
+        productPriceSummary.put(3L, 1L, new BigDecimal("5.5"));
+        productPriceSummary.remove(1L);
+        productPriceSummary.removeCategory(2L);
+
+        CategoryPriceStatsDTO stats = statsOf(1, 10);
+        assertThat(stats.count()).isEqualTo(1);
+        assertThat(stats.minPrice()).isEqualTo(new BigDecimal("5.50"));
+        assertThat(stats.histogram()).hasSize(1);
+        assertThat(productPriceSummary.stats(2L, 10).orElseThrow()).isEmpty();
+        verify(productRepository, times(1)).findAllPrices();
+    }
+
+    @Test
+    void rebuild_WhenWritesCommitDuringRead_ShouldNotCountThemTwice() {
+        when(productRepository.findAllPrices()).thenAnswer(invocation -> {
+            // committed before the snapshot was read, but applied once the rebuild had started
+            productPriceSummary.put(3L, 1L, new BigDecimal("30.00"));
+            productPriceSummary.put(1L, 1L, new BigDecimal("15.00"));
+            productPriceSummary.remove(2L);
+            // committed after the snapshot was read
+            productPriceSummary.put(4L, 1L, new BigDecimal("40.00"));
+            return List.of(row(1, 1, "15.00"), row(3, 1, "30.00"));
+        });
+
+        productPriceSummary.rebuild();
+
+        CategoryPriceStatsDTO stats = statsOf(1, 10);
+        assertThat(stats.count()).isEqualTo(3);
+        assertThat(stats.minPrice()).isEqualByComparingTo("15.00");
+        assertThat(stats.maxPrice()).isEqualByComparingTo("40.00");
+        assertThat(stats.avgPrice()).isEqualByComparingTo("28.33");
+    }
+
+    @Test
+    void bucketOf_ShouldPutMaxPriceInLastBucket() {
+        BigDecimal min = new BigDecimal("0.00");
+        BigDecimal max = new BigDecimal("9.99");
+
+        assertThat(ProductPriceSummary.bucketOf(min, min, max, 3)).isZero();
+        assertThat(ProductPriceSummary.bucketOf(new BigDecimal("3.33"), min, max, 3)).isEqualTo(1);
+        assertThat(ProductPriceSummary.bucketOf(max, min, max, 3)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.crud_app.service;
+
+import com.example.crud_app.dto.CategoryFacetDTO;
+import com.example.crud_app.dto.PriceBandFacetDTO;
+import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.entity.Category;
+import com.example.crud_app.entity.Product;
+import com.example.crud_app.mapper.ProductMapper;
+import com.example.crud_app.repository.ProductRepository;
+import com.example.crud_app.util.PriceBands;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductSearchIndex productSearchIndex;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(productRepository, productMapper, entityManager,
+                transactionManager, true);
+    }
+
+    private void buildWith(ProductDTO... products) {
+        Category category = Category.builder().id(1L).name("Electronics").build();
+        List<Product> entities = Stream.of(products)
+                .map(dto -> Product.builder().id(dto.id()).name(dto.name()).price(dto.price()).category(category).build())
+                .toList();
+        when(productRepository.streamProducts(null, null, null)).thenReturn(entities.stream());
+        when(productMapper.toDTO(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            return Stream.of(products).filter(dto -> dto.id().equals(product.getId())).findFirst().orElseThrow();
+        });
+        productSearchIndex.rebuild();
+    }
+
+    private static ProductDTO product(long id, String name, String price, long categoryId) {
+        return new ProductDTO(id, name, new BigDecimal(price), categoryId, "Electronics");
+    }
+
+    private List<ProductDTO> search(String name, String minPrice, String maxPrice, Pageable pageable) {
+        return productSearchIndex.search(name,
+                        minPrice == null ? null : new BigDecimal(minPrice),
+                        maxPrice == null ? null : new BigDecimal(maxPrice),
+                        pageable)
+                .orElseThrow()
+                .getContent();
+    }
+
+    @Test
+    void search_BeforeBuild_ShouldBeEmptySoCallersFallBack() {
+        assertThat(productSearchIndex.search("lap", null, null, pageable)).isEmpty();
+    }
+
+    @Test
+    void search_WhenDisabled_ShouldBeEmpty() {
+        ProductSearchIndex disabled = new ProductSearchIndex(productRepository, productMapper, entityManager,
+                transactionManager, false);
+
+        disabled.rebuild();
+
+        assertThat(disabled.search("lap", null, null, pageable)).isEmpty();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void search_ByName_ShouldMatchCaseInsensitiveSubstrings() {
+        ProductDTO laptop = product(1, "Gaming Laptop", "1299.99", 1);
+        ProductDTO lamp = product(2, "Desk Lamp", "39.99", 1);
+        ProductDTO stand = product(3, "Laptop Stand", "49.99", 1);
+        buildWith(laptop, lamp, stand);
+
+        assertThat(search("LAPTOP", null, null, pageable)).containsExactly(laptop, stand);
+        assertThat(search("la", null, null, pageable)).containsExactly(laptop, lamp, stand);
+        assertThat(search("top s", null, null, pageable)).containsExactly(stand);
+        assertThat(search("ptol", null, null, pageable)).isEmpty();
+    }
+
+    @Test
+    void search_ByPriceRange_ShouldApplyInclusiveBounds() {
+        ProductDTO laptop = product(1, "Gaming Laptop", "1299.99", 1);
+        ProductDTO lamp = product(2, "Desk Lamp", "39.99", 1);
+        ProductDTO stand = product(3, "Laptop Stand", "49.99", 1);
+        buildWith(laptop, lamp, stand);
+
+        assertThat(search(null, "39.99", "49.99", pageable)).containsExactly(lamp, stand);
+        assertThat(search(null, "100", null, pageable)).containsExactly(laptop);
+        assertThat(search("laptop", null, "100", pageable)).containsExactly(stand);
+        assertThat(search(null, "100", "50", pageable)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldSortAndPage() {
+        ProductDTO laptop = product(1, "Gaming Laptop", "1299.99", 1);
+        ProductDTO lamp = product(2, "Desk Lamp", "39.99", 1);
+        ProductDTO stand = product(3, "Laptop Stand", "49.99", 1);
+        buildWith(laptop, lamp, stand);
+
+        Page<ProductDTO> page = productSearchIndex.search(null, null, null,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price"))).orElseThrow();
+
+        assertThat(page.getContent()).containsExactly(laptop, stand);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(search(null, null, null, PageRequest.of(1, 2, Sort.by("name")))).containsExactly(stand);
+    }
+
+    @Test
+    void facets_ShouldCountEveryMatchByCategoryAndPriceBand() {
+        ProductDTO laptop = product(1, "Gaming Laptop", "1299.99", 1);
+        ProductDTO stand = product(2, "Laptop Stand", "49.99", 2);
+        ProductDTO bag = product(3, "Laptop Bag", "50.00", 2);
+        buildWith(laptop, stand, bag);
+
+        ProductFacetsDTO facets = productSearchIndex.facets("laptop", null, null,
+                PriceBands.of(List.of(new BigDecimal("50"), new BigDecimal("100")))).orElseThrow();
+
+        assertThat(facets.categories()).extracting(CategoryFacetDTO::categoryId, CategoryFacetDTO::count)
+                .containsExactly(tuple(2L, 2L), tuple(1L, 1L));
+        assertThat(facets.priceBands()).extracting(PriceBandFacetDTO::count).containsExactly(1L, 1L, 1L);
+    }
+
+    @Test
+    void search_WithUnindexedSort_ShouldBeEmpty() {
+        buildWith(product(1, "Gaming Laptop", "1299.99", 1));
+
+        assertThat(productSearchIndex.search(null, null, null, PageRequest.of(0, 10, Sort.by("categoryName"))))
+                .isEmpty();
+    }
+
+    @Test
+    void writes_ShouldUpdateIndexIncrementally() {
+        ProductDTO laptop = product(1, "Gaming Laptop", "1299.99", 1);
+        buildWith(laptop);
+
+        ProductDTO renamed = product(1, "Office Notebook", "899.99", 1);
+        productSearchIndex.put(renamed);
+        productSearchIndex.put(product(2, "Laptop Bag", "59.99", 2));
+
+        assertThat(search("laptop", null, null, pageable)).extracting(ProductDTO::id).containsExactly(2L);
+        assertThat(search("notebook", "800", "900", pageable)).containsExactly(renamed);
+
+        productSearchIndex.renameCategory(1L, "Computers");
+        assertThat(search("notebook", null, null, pageable)).extracting(ProductDTO::categoryName)
+                .containsExactly("Computers");
+
+        productSearchIndex.removeCategory(2L);
+        productSearchIndex.remove(1L);
+        assertThat(productSearchIndex.size()).isZero();
+        assertThat(search(null, null, null, pageable)).isEmpty();
+    }
+}
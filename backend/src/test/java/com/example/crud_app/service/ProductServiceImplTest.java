@@ -1,29 +1,55 @@
 package com.example.crud_app.service;
 
+import com.example.crud_app.dto.CategoryFacetDTO;
+import com.example.crud_app.dto.CursorPage;
+import com.example.crud_app.dto.PriceBandFacetDTO;
+import com.example.crud_app.dto.ProductBatchDTO;
 import com.example.crud_app.dto.ProductCreateDTO;
 import com.example.crud_app.dto.ProductDTO;
+import com.example.crud_app.dto.ProductFacetsDTO;
+import com.example.crud_app.dto.ProductSearchResultDTO;
 import com.example.crud_app.dto.ProductUpdateDTO;
+import com.example.crud_app.dto.ProductView;
+import com.example.crud_app.dto.Versioned;
 import com.example.crud_app.entity.Category;
 import com.example.crud_app.entity.Product;
+import com.example.crud_app.enums.CatalogEntityType;
+import com.example.crud_app.enums.ChangeType;
+import com.example.crud_app.exception.BatchTooLargeException;
 import com.example.crud_app.exception.CategoryNotFoundException;
+import com.example.crud_app.exception.InvalidCursorException;
 import com.example.crud_app.exception.ProductNotFoundException;
 import com.example.crud_app.mapper.ProductMapper;
-import com.example.crud_app.repository.CategoryRepository;
 import com.example.crud_app.repository.ProductRepository;
+import com.example.crud_app.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,11 +62,29 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryCache categoryCache;
 
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CatalogChangeCounter catalogChangeCounter;
+
+    @Mock
+    private ProductPriceSummary productPriceSummary;
+
+    @Mock
+    private CatalogOutbox catalogOutbox;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -105,6 +149,21 @@ class ProductServiceImplTest {
                 .hasMessageContaining("Product not found with id: 999");
     }
 
+    @Test
+    void getVersionedProductById_ShouldTagWithProductAndCategoryVersionsAndMapOnDemand() {
+        testProduct.setVersion(3L);
+        testCategory.setVersion(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        Versioned<ProductDTO> result = productService.getVersionedProductById(1L);
+
+        assertThat(result.version()).isEqualTo("3.1");
+        verifyNoInteractions(productMapper);
+
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+        assertThat(result.body().get()).isEqualTo(testProductDTO);
+    }
+
     @Test
     void createProduct_WithValidData_ShouldReturnProductDTO() {
         Product newProduct = Product.builder().name("New Laptop").build();
@@ -112,7 +171,7 @@ class ProductServiceImplTest {
         ProductDTO expectedDTO = new ProductDTO(2L, "New Laptop", new BigDecimal("1299.99"),
                  1L, "Electronics");
 
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryCache.findById(1L)).thenReturn(Optional.of(testCategory));
         when(productMapper.toEntity(testCreateDTO)).thenReturn(newProduct);
         when(productRepository.save(any(Product.class))).thenReturn(savedProduct);
         when(productMapper.toDTO(savedProduct)).thenReturn(expectedDTO);
@@ -120,11 +179,14 @@ class ProductServiceImplTest {
         ProductDTO result = productService.createProduct(testCreateDTO);
 
         assertThat(result).isEqualTo(expectedDTO);
+        verify(productSearchIndex).put(expectedDTO);
+        verify(catalogChangeCounter).changed(CatalogChangeCounter.Table.PRODUCTS);
+        verify(catalogOutbox).record(CatalogEntityType.PRODUCT, 2L, ChangeType.CREATED, expectedDTO);
     }
 
     @Test
     void createProduct_WhenCategoryNotExists_ShouldThrowException() {
-        when(categoryRepository.findById(1L)).thenReturn(Optional.empty());
+        when(categoryCache.findById(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productService.createProduct(testCreateDTO))
                 .isInstanceOf(CategoryNotFoundException.class)
@@ -138,7 +200,7 @@ class ProductServiceImplTest {
                  1L, "Electronics");
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(categoryCache.findById(1L)).thenReturn(Optional.of(testCategory));
         when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
         when(productMapper.toDTO(updatedProduct)).thenReturn(expectedDTO);
 
@@ -146,6 +208,7 @@ class ProductServiceImplTest {
 
         assertThat(result).isEqualTo(expectedDTO);
         verify(productMapper).updateEntity(testProduct, testUpdateDTO);
+        verify(productSearchIndex).put(expectedDTO);
     }
 
     @Test
@@ -158,19 +221,189 @@ class ProductServiceImplTest {
 
     @Test
     void deleteProduct_WhenExists_ShouldDeleteSuccessfully() {
-        when(productRepository.existsById(1L)).thenReturn(true);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
 
         productService.deleteProduct(1L);
 
-        verify(productRepository).deleteById(1L);
+        verify(productRepository).delete(testProduct);
+        verify(productSearchIndex).remove(1L);
+        verify(productPriceSummary).remove(1L);
+        verify(catalogOutbox).record(CatalogEntityType.PRODUCT, 1L, ChangeType.DELETED, null);
     }
 
     @Test
     void deleteProduct_WhenNotExists_ShouldThrowException() {
-        when(productRepository.existsById(999L)).thenReturn(false);
+        when(productRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productService.deleteProduct(999L))
                 .isInstanceOf(ProductNotFoundException.class)
-                .hasMessageContaining("Product not found with id:999");
+                .hasMessageContaining("Product not found with id: 999");
+    }
+
+    @Test
+    void scrollProducts_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", new BigDecimal("999.99"));
+        keys.put("id", 1L);
+        Window<Product> window = Window.from(List.of(testProduct), index -> ScrollPosition.forward(keys), true);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+
+        CursorPage<ProductDTO> result = productService.scrollProducts(null, 10, "price");
+
+        assertThat(result.content()).containsExactly(testProductDTO);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void scrollProducts_OnLastSlice_ShouldReturnNoCursor() {
+        Window<Product> window = Window.from(List.of(testProduct), index -> ScrollPosition.keyset(), false);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+
+        CursorPage<ProductDTO> result = productService.scrollSearchProducts("lap", null, null, null, 10, "id");
+
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void scrollProducts_WithUnsupportedSort_ShouldThrowException() {
+        assertThatThrownBy(() -> productService.scrollProducts(null, 10, "category"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void scrollProducts_WithCursorForOtherSort_ShouldThrowException() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "Laptop");
+        keys.put("id", 1L);
+        String nameCursor = KeysetCursor.encode("name", ScrollPosition.forward(keys));
+
+        assertThatThrownBy(() -> productService.scrollProducts(nameCursor, 10, "price"))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining("sort 'name'");
+    }
+
+    @Test
+    void exportProducts_ShouldStreamEachProductAndDetachIt() {
+        when(productRepository.streamProducts("lap", null, null)).thenReturn(Stream.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+        List<ProductDTO> exported = new ArrayList<>();
+
+        productService.exportProducts("lap", null, null, exported::add);
+
+        assertThat(exported).containsExactly(testProductDTO);
+        verify(entityManager).detach(testProduct);
+    }
+
+    @Test
+    void exportProductsByCategory_ShouldStreamEachProductAndDetachIt() {
+        when(productRepository.streamProductsByCategory(1L)).thenReturn(Stream.of(testProduct));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+        List<ProductDTO> exported = new ArrayList<>();
+
+        productService.exportProductsByCategory(1L, exported::add);
+
+        assertThat(exported).containsExactly(testProductDTO);
+        verify(entityManager).detach(testProduct);
+    }
+
+    @Test
+    void searchProductRanked_ShouldUsePortableQueryAndDropSort() {
+        ProductView view = mock(ProductView.class);
+        when(productRepository.searchRanked("lap", null, new BigDecimal("1500"), PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(view)));
+        when(productMapper.toDTO(view)).thenReturn(testProductDTO);
+
+        Page<ProductDTO> result = productService.searchProductRanked("lap", null, new BigDecimal("1500"),
+                PageRequest.of(0, 10, Sort.by("name")));
+
+        assertThat(result.getContent()).containsExactly(testProductDTO);
+        verify(productRepository, never()).searchRankedTrigram(any(), any(), any(), any());
+    }
+
+    @Test
+    void searchProductRanked_WhenTrigramEnabled_ShouldUseTrigramQuery() {
+        ReflectionTestUtils.setField(productService, "trigramSearch", true);
+        ProductView view = mock(ProductView.class);
+        when(productRepository.searchRankedTrigram("lap", null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(view)));
+        when(productMapper.toDTO(view)).thenReturn(testProductDTO);
+
+        Page<ProductDTO> result = productService.searchProductRanked("lap", null, null, pageable);
+
+        assertThat(result.getContent()).containsExactly(testProductDTO);
+        verify(productRepository, never()).searchRanked(any(), any(), any(), any());
+    }
+
+    @Test
+    void getProductsByIds_ShouldKeepRequestOrderAndReportMissing() {
+        ReflectionTestUtils.setField(productService, "batchMaxSize", 100);
+        Product other = Product.builder().id(2L).name("Mouse").price(new BigDecimal("25.00")).category(testCategory).build();
+        ProductDTO otherDTO = new ProductDTO(2L, "Mouse", new BigDecimal("25.00"), 1L, "Electronics");
+        when(productRepository.findByIdIn(anyCollection())).thenReturn(List.of(testProduct, other));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+        when(productMapper.toDTO(other)).thenReturn(otherDTO);
+
+        ProductBatchDTO result = productService.getProductsByIds(List.of(2L, 9L, 1L, 2L));
+
+        assertThat(result.products()).containsExactly(otherDTO, testProductDTO);
+        assertThat(result.missingIds()).containsExactly(9L);
+        verify(productRepository).findByIdIn(Set.of(1L, 2L, 9L));
+    }
+
+    @Test
+    void getProductsByIds_WhenOverLimit_ShouldThrowWithoutQuerying() {
+        ReflectionTestUtils.setField(productService, "batchMaxSize", 2);
+
+        assertThatThrownBy(() -> productService.getProductsByIds(List.of(1L, 2L, 3L)))
+                .isInstanceOf(BatchTooLargeException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProductWithFacets_WhenIndexUnavailable_ShouldAggregateInDatabase() {
+        ReflectionTestUtils.setField(productService, "priceBandEdges", List.of(new BigDecimal("100")));
+        ProductFacetsDTO facets = new ProductFacetsDTO(
+                List.of(new CategoryFacetDTO(1L, "Electronics", 1)),
+                List.of(new PriceBandFacetDTO(null, new BigDecimal("100"), 0),
+                        new PriceBandFacetDTO(new BigDecimal("100"), null, 1)));
+        when(productSearchIndex.search("lap", null, null, pageable)).thenReturn(Optional.empty());
+        when(productRepository.searchProducts("lap", null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(testProduct)));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+        when(productSearchIndex.facets(eq("lap"), isNull(), isNull(), any())).thenReturn(Optional.empty());
+        when(productRepository.facets(any(), any())).thenReturn(facets);
+
+        ProductSearchResultDTO result = productService.searchProductWithFacets("lap", null, null, pageable);
+
+        assertThat(result.results().getContent()).containsExactly(testProductDTO);
+        assertThat(result.facets()).isSameAs(facets);
+        assertThat(meterRegistry.get("search.facets").tag("source", "database").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchProduct_WhenIndexAnswers_ShouldNotQueryDatabase() {
+        Page<ProductDTO> indexed = new PageImpl<>(List.of(testProductDTO), pageable, 1);
+        when(productSearchIndex.search("lap", null, null, pageable)).thenReturn(Optional.of(indexed));
+
+        Page<ProductDTO> result = productService.searchProduct("lap", null, null, pageable);
+
+        assertThat(result).isSameAs(indexed);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProduct_WhenIndexUnavailable_ShouldQueryDatabase() {
+        when(productSearchIndex.search("lap", null, null, pageable)).thenReturn(Optional.empty());
+        when(productRepository.searchProducts("lap", null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(testProduct), pageable, 1));
+        when(productMapper.toDTO(testProduct)).thenReturn(testProductDTO);
+
+        Page<ProductDTO> result = productService.searchProduct("lap", null, null, pageable);
+
+        assertThat(result.getContent()).containsExactly(testProductDTO);
     }
-}
\ No newline at end of file
+}
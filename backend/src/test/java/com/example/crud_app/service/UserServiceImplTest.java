@@ -1,6 +1,7 @@
 package com.example.crud_app.service;
 
 import com.example.crud_app.dto.CreateUserDTO;
+import com.example.crud_app.dto.CursorPage;
 import com.example.crud_app.dto.UpdateUserDTO;
 import com.example.crud_app.dto.UserDTO;
 import com.example.crud_app.entity.User;
@@ -9,16 +10,30 @@ import com.example.crud_app.exception.UserAlreadyExistsException;
 import com.example.crud_app.exception.UserNotFoundException;
 import com.example.crud_app.mapper.UserMapper;
 import com.example.crud_app.repository.UserRepository;
+import com.example.crud_app.security.PasswordHasher;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,13 +49,16 @@ class UserServiceImplTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private UserServiceImpl userService;
 
     @Test
-    void getAllUsers_ShouldReturnUserDTOList() {
+    void getAllUsers_ShouldReturnPageOfUserDTOs() {
         // Given
         User user1 = User.builder().id(1L).username("john").role(Role.USER).build();
         User user2 = User.builder().id(2L).username("admin").role(Role.ADMIN).build();
@@ -49,18 +67,72 @@ class UserServiceImplTest {
         UserDTO userDTO1 = new UserDTO(1L, "john", Role.USER);
         UserDTO userDTO2 = new UserDTO(2L, "admin", Role.ADMIN);
 
-        when(userRepository.findAll()).thenReturn(users);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("username"));
+        when(userRepository.findAll(ArgumentMatchers.<Specification<User>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(users, pageable, 2));
         when(userMapper.toDTO(user1)).thenReturn(userDTO1);
         when(userMapper.toDTO(user2)).thenReturn(userDTO2);
 
         // When
-        List<UserDTO> result = userService.getAllUsers();
+        Page<UserDTO> result = userService.getAllUsers(null, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(userDTO1, userDTO2);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_ShouldDropSortOnUnlistedProperties() {
+        // Given
+        Pageable requested = PageRequest.of(1, 10, Sort.by("password").and(Sort.by("username")));
+        when(userRepository.findAll(ArgumentMatchers.<Specification<User>>any(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // When
+        userService.getAllUsers(Role.USER, "jo", requested);
+
+        // Then
+        verify(userRepository).findAll(ArgumentMatchers.<Specification<User>>any(),
+                eq(PageRequest.of(1, 10, Sort.by("username"))));
+    }
+
+    @Test
+    void scrollUsers_ShouldReturnSliceWithCursor() {
+        // Given
+        User user = User.builder().id(3L).username("john").role(Role.USER).build();
+        UserDTO userDTO = new UserDTO(3L, "john", Role.USER);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("username", "john");
+        keys.put("id", 3L);
+        when(userRepository.findBy(ArgumentMatchers.<Specification<User>>any(), any()))
+                .thenReturn(Window.from(List.of(user), index -> ScrollPosition.forward(keys), true));
+        when(userMapper.toDTO(user)).thenReturn(userDTO);
+
+        // When
+        CursorPage<UserDTO> result = userService.scrollUsers(Role.USER, "jo", null, 1, "username");
+
+        // Then
+        assertThat(result.content()).containsExactly(userDTO);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.nextCursor()).isNotBlank();
+    }
+
+    @Test
+    void exportUsers_ShouldStreamWithEscapedPrefixAndDetach() {
+        // Given
+        User user = User.builder().id(1L).username("a_b").role(Role.USER).build();
+        UserDTO userDTO = new UserDTO(1L, "a_b", Role.USER);
+        when(userRepository.streamUsers(Role.USER, "a\\_%")).thenReturn(Stream.of(user));
+        when(userMapper.toDTO(user)).thenReturn(userDTO);
+        List<UserDTO> exported = new ArrayList<>();
+
+        // When
+        userService.exportUsers(Role.USER, "a_", exported::add);
 
         // Then
-        assertThat(result).hasSize(2);
-        assertThat(result).containsExactly(userDTO1, userDTO2);
-        verify(userRepository).findAll();
-        verify(userMapper, times(2)).toDTO(any(User.class));
+        assertThat(exported).containsExactly(userDTO);
+        verify(entityManager).detach(user);
     }
 
     @Test
@@ -105,7 +177,7 @@ class UserServiceImplTest {
 
         when(userRepository.existsByUsername("newuser")).thenReturn(false);
         when(userMapper.toEntity(createDTO)).thenReturn(userEntity);
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(passwordHasher.encode("password123")).thenReturn("encodedPassword");
         when(userRepository.save(userEntity)).thenReturn(savedUser);
         when(userMapper.toDTO(savedUser)).thenReturn(expectedDTO);
 
@@ -116,7 +188,7 @@ class UserServiceImplTest {
         assertThat(result).isEqualTo(expectedDTO);
         verify(userRepository).existsByUsername("newuser");
         verify(userMapper).toEntity(createDTO);
-        verify(passwordEncoder).encode("password123");
+        verify(passwordHasher).encode("password123");
         verify(userRepository).save(userEntity);
         verify(userMapper).toDTO(savedUser);
 
@@ -137,7 +209,7 @@ class UserServiceImplTest {
 
         verify(userRepository).existsByUsername("existinguser");
         verify(userMapper, never()).toEntity(any(CreateUserDTO.class));
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHasher, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -254,30 +326,30 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getUserByUsername_ShouldReturnUser_WhenUserExists() {
+    void getUserByUsername_ShouldReturnUserDTO_WhenUserExists() {
         // Given
-        User user = User.builder().id(1L).username("john").role(Role.USER).build();
+        User user = User.builder().id(1L).username("john").password("encoded").role(Role.USER).build();
+        UserDTO userDTO = new UserDTO(1L, "john", Role.USER);
         when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+        when(userMapper.toDTO(user)).thenReturn(userDTO);
 
         // When
-        Optional<User> result = userService.getUserByUsername("john");
+        UserDTO result = userService.getUserByUsername("john");
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(user);
+        assertThat(result).isEqualTo(userDTO);
         verify(userRepository).findByUsername("john");
     }
 
     @Test
-    void getUserByUsername_ShouldReturnEmpty_WhenUserNotFound() {
+    void getUserByUsername_ShouldThrowException_WhenUserNotFound() {
         // Given
         when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
 
-        // When
-        Optional<User> result = userService.getUserByUsername("nonexistent");
-
-        // Then
-        assertThat(result).isEmpty();
+        // When & Then
+        assertThatThrownBy(() -> userService.getUserByUsername("nonexistent"))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasMessageContaining("nonexistent");
         verify(userRepository).findByUsername("nonexistent");
     }
-}
\ No newline at end of file
+}
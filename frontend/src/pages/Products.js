@@ -1,8 +1,12 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Container, Card, Form, Button, Table, Row, Col, Modal, ButtonGroup, InputGroup, Alert, Pagination } from 'react-bootstrap';
 import { productService } from '../services/productService';
 import { categoryService } from '../services/categoryService';
 import { isAdmin } from '../services/authService';
+import { subscribeToCatalogEvents } from '../services/eventService';
+
+// live events arriving within this window of the first one are answered with a single reload
+const LIVE_RELOAD_DELAY_MS = 500;
 
 const Products = () => {
   const [products, setProducts] = useState([]);
@@ -151,6 +155,66 @@ const Products = () => {
     setLoading(false);
   };
 
+  // Live updates from other admins and tabs: edits are applied in place, anything that changes the page reloads it.
+  // Reloads are coalesced, so a batch write or an import costs one request per tab rather than one per product.
+  const liveRef = useRef({});
+  liveRef.current = { loadData, loadCategories, products, filterCategoryId, isSearching, searchTerm };
+  useEffect(() => {
+    let connectedBefore = false;
+    const pending = {};
+    const scheduleReload = (name) => {
+      if (!pending[name]) {
+        pending[name] = setTimeout(() => {
+          delete pending[name];
+          liveRef.current[name]();
+        }, LIVE_RELOAD_DELAY_MS);
+      }
+    };
+    // an edited product that leaves or enters the filtered page, or is renamed under a search, moves the page
+    const pageChanges = (product) => {
+      const { products, filterCategoryId, isSearching, searchTerm } = liveRef.current;
+      const shown = products.find(current => current.id === product.id);
+      if (isSearching && searchTerm.trim()) {
+        return shown !== undefined && shown.name !== product.name;
+      }
+      if (filterCategoryId) {
+        return (shown !== undefined) !== (String(product.categoryId) === String(filterCategoryId));
+      }
+      return false;
+    };
+    const unsubscribe = subscribeToCatalogEvents(({ name, data }) => {
+      if (name === 'connected') {
+        // a reconnect may have missed events
+        if (connectedBefore) {
+          scheduleReload('loadData');
+        }
+        connectedBefore = true;
+      } else if (name === 'resync') {
+        scheduleReload('loadData');
+        scheduleReload('loadCategories');
+      } else if (name === 'change' && data.entityType === 'PRODUCT') {
+        if (data.changeType === 'UPDATED' && !pageChanges(data.payload)) {
+          setProducts(current => current.map(product => product.id === data.entityId ? data.payload : product));
+        } else {
+          scheduleReload('loadData');
+        }
+      } else if (name === 'change' && data.entityType === 'CATEGORY') {
+        scheduleReload('loadCategories');
+        if (data.changeType === 'UPDATED') {
+          setProducts(current => current.map(product => product.categoryId === data.entityId
+            ? { ...product, categoryName: data.payload.name }
+            : product));
+        } else if (data.changeType === 'DELETED') {
+          scheduleReload('loadData');
+        }
+      }
+    });
+    return () => {
+      unsubscribe();
+      Object.values(pending).forEach(clearTimeout);
+    };
+  }, []);
+
   const handleSearch = async (e) => {
     e.preventDefault();
     setIsSearching(true);
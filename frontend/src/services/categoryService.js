@@ -77,7 +77,9 @@ export const categoryService = {
     }
 
     try {
-      const response = await api.get(`${API_ENDPOINTS.CATEGORIES}/${id}/products`);
+      const response = await api.get(`${API_ENDPOINTS.CATEGORIES}/${id}/products`, {
+        params: { stream: true }
+      });
       return response.data;
     } catch (error) {
       console.error(`Failed to fetch category ${id} with products:`, error);
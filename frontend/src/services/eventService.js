@@ -0,0 +1,77 @@
+import { API_BASE_URL, API_ENDPOINTS, STORAGE_KEYS } from '../utils/constants';
+
+const RECONNECT_DELAY_MS = 3000;
+
+/**
+ * Parse one server-sent event block ("event:" and "data:" lines); comments (heartbeats) yield null
+ */
+const parseEvent = (block) => {
+  let name = 'message';
+  const data = [];
+  block.split('\n').forEach(line => {
+    if (line.startsWith('event:')) {
+      name = line.slice(6).trim();
+    } else if (line.startsWith('data:')) {
+      data.push(line.slice(5));
+    }
+  });
+  if (data.length === 0) {
+    return null;
+  }
+  return { name, data: JSON.parse(data.join('\n')) };
+};
+
+/**
+ * Subscribe to the live catalog event stream.
+ * EventSource cannot send the Authorization header, so the stream is read with fetch.
+ * onEvent receives { name, data } for "connected", "change" and "resync" events; the stream reconnects
+ * after errors until the returned function is called.
+ */
+export const subscribeToCatalogEvents = (onEvent) => {
+  const controller = new AbortController();
+
+  const connect = async () => {
+    try {
+      const token = localStorage.getItem(STORAGE_KEYS.TOKEN);
+      const response = await fetch(`${API_BASE_URL}${API_ENDPOINTS.CHANGE_STREAM}`, {
+        headers: {
+          Accept: 'text/event-stream',
+          ...(token ? { Authorization: `Bearer ${token}` } : {})
+        },
+        credentials: 'include',
+        signal: controller.signal
+      });
+      if (!response.ok || !response.body) {
+        throw new Error(`Event stream failed with status ${response.status}`);
+      }
+      const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) {
+          break;
+        }
+        buffer += value;
+        let end;
+        while ((end = buffer.indexOf('\n\n')) >= 0) {
+          const event = parseEvent(buffer.slice(0, end));
+          buffer = buffer.slice(end + 2);
+          if (event) {
+            onEvent(event);
+          }
+        }
+      }
+    } catch (error) {
+      if (controller.signal.aborted) {
+        return;
+      }
+      console.error('Catalog event stream interrupted:', error);
+    }
+    if (!controller.signal.aborted) {
+      setTimeout(connect, RECONNECT_DELAY_MS);
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
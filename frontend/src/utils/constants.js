@@ -12,7 +12,10 @@ export const API_ENDPOINTS = {
     PRODUCTS: '/products',
 
     // Categories
-    CATEGORIES: '/categories'
+    CATEGORIES: '/categories',
+
+    // Live catalog changes (server-sent events)
+    CHANGE_STREAM: '/changes/stream'
 }
 
 // User Roles